@@ -1,44 +1,159 @@
 package io.github.elkamondo;
 
+import io.github.elkamondo.batch.TodoBatch;
 import io.github.elkamondo.exceptions.FileNameNotValidException;
 import io.github.elkamondo.models.Todo;
 import io.github.elkamondo.models.TodoList;
-import io.github.elkamondo.utils.reports.TodoCSVReporter;
+import io.github.elkamondo.server.TodoServer;
+import io.github.elkamondo.utils.TodoViewCache;
+import io.github.elkamondo.utils.journal.TodoJournal;
+import io.github.elkamondo.utils.metrics.Metrics;
+import io.github.elkamondo.utils.reports.ShardedTodoReporter;
 import io.github.elkamondo.utils.reports.TodoReporter;
 
-import java.io.IOException;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Collection;
+import javax.management.JMException;
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
 import java.util.Scanner;
-import java.util.function.BiFunction;
+import java.util.concurrent.TimeUnit;
 
-import static io.github.elkamondo.utils.Constants.DEFAULT_DATETIME_FORMATTER;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 public class Main {
 
+    private static final int JOURNAL_SYNC_BATCH_SIZE = 64;
+    private static final int PAGE_SIZE = 20;
+
+    // Pages and search results are kept, rendered, until the todos change
+    private static final int VIEW_CACHE_SIZE = 10_000;
+
+    private static final int BATCH_FLUSH_INTERVAL = 100_000;
+    private static final int BATCH_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Usage: {@code Main [backup file] [--batch <script file>|-] [--serve <port>] [--metrics <seconds>] [--shards <count>]}.
+     * With {@code --batch}, the commands of the script (or of the standard
+     * input for {@code -}) are applied instead of showing the menu. With
+     * {@code --serve}, the todos are served as a JSON API until the
+     * application is interrupted. With {@code --metrics}, the metrics are
+     * printed to the standard error at that interval. With {@code --shards},
+     * the todos are spread over that many backup files.
+     */
     public static void main(String[] args) {
-        final String BACKUP_FILENAME = "todos.csv";
+        final long startNanos = System.nanoTime();
+
+        String backupFilename = "todos.csv";
+        String batchScript = null;
+        int serverPort = -1;
+        int metricsInterval = -1;
+        int shards = 1;
+        for (int i = 0; i < args.length; i++) {
+            if ("--batch".equals(args[i]) && i + 1 < args.length) {
+                batchScript = args[++i];
+            } else if ("--serve".equals(args[i]) && i + 1 < args.length) {
+                try {
+                    serverPort = Integer.parseInt(args[++i]);
+                } catch (NumberFormatException e) {
+                    System.err.println("Invalid port! You must enter an integer.");
+                    return;
+                }
+            } else if ("--metrics".equals(args[i]) && i + 1 < args.length) {
+                try {
+                    metricsInterval = Integer.parseInt(args[++i]);
+                } catch (NumberFormatException e) {
+                    System.err.println("Invalid metrics interval! You must enter an integer.");
+                    return;
+                }
+            } else if ("--shards".equals(args[i]) && i + 1 < args.length) {
+                try {
+                    shards = Integer.parseInt(args[++i]);
+                } catch (NumberFormatException e) {
+                    System.err.println("Invalid number of shards! You must enter an integer.");
+                    return;
+                }
+            } else {
+                backupFilename = args[i];
+            }
+        }
+
+        final String BACKUP_FILENAME = backupFilename;
+        final boolean batchMode = batchScript != null;
 
-        final TodoReporter csvReporter = new TodoCSVReporter();
+        // Loading the file a sharded store was split from would bring back outdated todos
+        if (shards <= 1 && ShardedTodoReporter.isSharded(BACKUP_FILENAME)) {
+            System.err.printf("The todos of '%s' are sharded! Use --shards with the number of shards.%n", BACKUP_FILENAME);
+            return;
+        }
+
+        final TodoReporter reporter = shards > 1
+                ? new ShardedTodoReporter(TodoReporter.forFileName(BACKUP_FILENAME), shards)
+                : TodoReporter.forFileName(BACKUP_FILENAME);
 
         final TodoList todos = new TodoList();
         try {
-            todos.addAll(csvReporter.load(BACKUP_FILENAME));
+            reporter.load(BACKUP_FILENAME, todos::add);
         } catch (IOException | FileNameNotValidException e) {
             System.err.printf("Can't load data! from file '%s'.%n", BACKUP_FILENAME);
         }
 
+        // Changes are journaled as they happen, the snapshot is only rewritten by compactions
+        TodoJournal journal = null;
+        try {
+            // A batch syncs the journal itself, every BATCH_FLUSH_INTERVAL commands
+            journal = TodoJournal.open(Paths.get(BACKUP_FILENAME + ".journal"), todos,
+                    batchMode ? Integer.MAX_VALUE : JOURNAL_SYNC_BATCH_SIZE);
+            if (journal.replayedRecords() > 0 && !batchMode) {
+                journal.compact(reporter, BACKUP_FILENAME);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Can't open the journal! Your data will be saved when you quit.");
+        }
+
+        final Metrics metrics = Metrics.global();
+        metrics.histogram("main.startup").recordSince(startNanos);
+        metrics.gauge("todos.all", () -> todos.getAllTodos().size());
+        metrics.gauge("todos.active", () -> todos.getActiveTodos().size());
+        metrics.gauge("todos.completed", () -> todos.getCompletedTodos().size());
+        try {
+            metrics.registerMBeans(ManagementFactory.getPlatformMBeanServer());
+        } catch (JMException e) {
+            System.err.println("Can't publish the metrics over JMX.");
+        }
+        if (metricsInterval > 0) {
+            metrics.startDump(System.err, metricsInterval, TimeUnit.SECONDS);
+        }
+
+        if (batchMode) {
+            runBatch(batchScript, todos, journal, reporter, BACKUP_FILENAME);
+            return;
+        }
+
+        if (serverPort >= 0) {
+            serve(serverPort, todos, journal, reporter, BACKUP_FILENAME);
+            return;
+        }
+
+        final TodoViewCache views = new TodoViewCache(todos, VIEW_CACHE_SIZE);
+        metrics.gauge("viewCache.hits", views::getHits);
+        metrics.gauge("viewCache.misses", views::getMisses);
+        metrics.gauge("viewCache.evictions", views::getEvictions);
+
         try (Scanner in = new Scanner(System.in)) {
-            int userChoice = 0;
+            int userChoice = -1;
 
             do {
+                syncJournal(journal, reporter, BACKUP_FILENAME);
                 showMenu();
 
                 try {
                     userChoice = Integer.parseInt(in.nextLine());
                 } catch (NumberFormatException e) {
                     System.err.println("Invalid input! You must enter an integer.");
+                    userChoice = -1;
                     continue;
                 }
 
@@ -46,17 +161,15 @@ public class Main {
                     case 1: {
                         System.out.print("What do you want to do? ");
                         final String todoName = in.nextLine();
-                        if (todos.add(new Todo(todoName))) {
-                            System.out.println("Todo has been added.");
-                        }
+                        todos.create(todoName);
+                        System.out.println("Todo has been added.");
                     }
                     break;
 
                     case 2: {
-                        final Collection<? extends Todo> activeTodos = todos.getActiveTodos();
-                        printTodos(activeTodos);
+                        browseTodos(in, views, TodoList.View.ACTIVE);
 
-                        if (activeTodos.size() > 0) {
+                        if (!todos.getActiveTodos().isEmpty()) {
                             System.out.printf("%nWhich one do you want to complete?%n");
 
                             final String todoId = prompt(in);
@@ -75,10 +188,9 @@ public class Main {
                     break;
 
                     case 3: {
-                        final Collection<? extends Todo> allTodos = todos.getAllTodos();
-                        printTodos(allTodos);
+                        browseTodos(in, views, TodoList.View.ALL);
 
-                        if (allTodos.size() > 0) {
+                        if (!todos.getAllTodos().isEmpty()) {
                             System.out.printf("%nWhich one do you want to remove?%n");
 
                             final String todoId = prompt(in);
@@ -94,10 +206,9 @@ public class Main {
                     break;
 
                     case 4: {
-                        final Collection<? extends Todo> allTodos = todos.getAllTodos();
-                        printTodos(allTodos);
+                        browseTodos(in, views, TodoList.View.ALL);
 
-                        if (allTodos.size() > 0) {
+                        if (!todos.getAllTodos().isEmpty()) {
                             System.out.printf("%nWhich one do you want to rename?%n");
 
                             final String todoId = prompt(in);
@@ -117,38 +228,128 @@ public class Main {
                     break;
 
                     case 5:
-                        printTodos(todos.getAllTodos());
+                        browseTodos(in, views, TodoList.View.ALL);
                         break;
 
                     case 6:
-                        printTodos(todos.getActiveTodos());
+                        browseTodos(in, views, TodoList.View.ACTIVE);
                         break;
 
                     case 7:
-                        printTodos(todos.getCompletedTodos());
+                        browseTodos(in, views, TodoList.View.COMPLETED);
                         break;
 
                     case 8:
                         System.out.println("Bye!");
                         break;
 
+                    case 9: {
+                        System.out.print("Search for -> ");
+                        final String query = in.nextLine();
+                        if (query.trim().isEmpty()) continue;
+
+                        printTodos(views.search(query));
+                    }
+                    break;
+
+                    case 10:
+                        System.out.print(metrics.snapshot());
+                        System.out.println("View cache: " + views);
+                        break;
+
                     default:
                         System.err.println("Please enter a valid option!");
                 }
             } while (userChoice != 8);
         }
 
+        backup(todos, journal, reporter, BACKUP_FILENAME);
+    }
+
+    private static void serve(int port, TodoList todos, TodoJournal journal,
+                              TodoReporter reporter, String backupFilename) {
+        final TodoServer server;
         try {
-            if (todos.isEmpty()) {
+            // A change is on disk before it is acknowledged
+            server = TodoServer.start(new InetSocketAddress(port), todos, TodoServer.DEFAULT_MAX_CONCURRENT_REQUESTS,
+                    () -> syncJournal(journal, reporter, backupFilename));
+        } catch (IOException e) {
+            System.err.printf("Can't listen on port %d.%n", port);
+            backup(todos, journal, reporter, backupFilename);
+            return;
+        }
+
+        // The server's threads keep the application running until it is interrupted
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            backup(todos, journal, reporter, backupFilename);
+        }, "todo-server-shutdown"));
+
+        System.out.printf("Serving the todos on http://localhost:%d/todos, press Ctrl+C to stop.%n",
+                server.getAddress().getPort());
+    }
+
+    private static void backup(TodoList todos, TodoJournal journal, TodoReporter reporter, String backupFilename) {
+        try {
+            if (journal != null) {
+                if (journal.hasFailed()) {
+                    // The snapshot holds the changes the journal couldn't record
+                    journal.compact(reporter, backupFilename);
+                }
+                journal.close();
+            } else if (todos.isEmpty()) {
                 System.out.println("There is no todos to save.");
             } else {
-                csvReporter.save(todos.getAllTodos(), BACKUP_FILENAME);
+                reporter.save(todos.getAllTodos(), backupFilename);
+            }
+        } catch (IOException | FileNameNotValidException e) {
+            System.err.println("Can't backup your data!");
+        }
+    }
+
+    private static void runBatch(String script, TodoList todos, TodoJournal journal,
+                                 TodoReporter reporter, String backupFilename) {
+        final TodoBatch batch = new TodoBatch(todos, BATCH_FLUSH_INTERVAL,
+                journal != null ? journal::sync : () -> {}, System.err);
+
+        try (BufferedReader in = "-".equals(script)
+                ? new BufferedReader(new InputStreamReader(System.in, UTF_8), BATCH_BUFFER_SIZE)
+                : new BufferedReader(new InputStreamReader(Files.newInputStream(Paths.get(script)), UTF_8), BATCH_BUFFER_SIZE)) {
+            System.out.println(batch.run(in));
+        } catch (IOException | UncheckedIOException e) {
+            System.err.printf("Can't run the commands of '%s'.%n", script);
+        }
+
+        // The snapshot replaces the journal, so the next start has nothing to replay
+        try {
+            if (journal != null) {
+                journal.compact(reporter, backupFilename);
+                journal.close();
+            } else {
+                reporter.save(todos.getAllTodos(), backupFilename);
             }
         } catch (IOException | FileNameNotValidException e) {
             System.err.println("Can't backup your data!");
         }
     }
 
+    private static void syncJournal(TodoJournal journal, TodoReporter reporter, String backupFilename) {
+        if (journal == null) {
+            return;
+        }
+
+        try {
+            if (journal.hasFailed()) {
+                System.err.println("Can't write your last changes to the journal! Saving all your todos instead.");
+                journal.compact(reporter, backupFilename);
+            } else {
+                journal.sync();
+            }
+        } catch (IOException e) {
+            System.err.println("Can't write your last changes to the journal!");
+        }
+    }
+
     private static String prompt(Scanner in) {
         System.out.print("Enter the id -> ");
 
@@ -169,39 +370,53 @@ public class Main {
         System.out.println(" 6) Show active todos");
         System.out.println(" 7) Show completed todos");
         System.out.println(" 8) Quit");
+        System.out.println(" 9) Search todos");
+        System.out.println("10) Show metrics");
         System.out.printf("%n> ");
     }
 
-    private static void printTodos(Collection<? extends Todo> todos) {
-        if (todos.isEmpty()) {
+    /**
+     * Shows the todos of the view one page at a time, until the user is done.
+     */
+    private static void browseTodos(Scanner in, TodoViewCache views, TodoList.View view) {
+        TodoViewCache.Result page = views.getPageAfter(view, null, PAGE_SIZE);
+
+        while (true) {
+            printTodos(page);
+            final List<Todo> todos = page.getTodos();
+            if (todos.isEmpty()) {
+                return;
+            }
+
+            final Todo first = todos.get(0);
+            final Todo last = todos.get(todos.size() - 1);
+            final boolean hasNext = !views.getPageAfter(view, last, 1).getTodos().isEmpty();
+            final boolean hasPrevious = !views.getPageBefore(view, first, 1).getTodos().isEmpty();
+            if (!hasNext && !hasPrevious) {
+                return;
+            }
+
+            System.out.printf("%s%s q) Done -> ", hasNext ? " n) Next page" : "", hasPrevious ? " p) Previous page" : "");
+            final String command = in.nextLine().trim();
+            if (command.equalsIgnoreCase("n") && hasNext) {
+                page = views.getPageAfter(view, last, PAGE_SIZE);
+            } else if (command.equalsIgnoreCase("p") && hasPrevious) {
+                page = views.getPageBefore(view, first, PAGE_SIZE);
+            } else if (command.isEmpty() || command.equalsIgnoreCase("q")) {
+                return;
+            }
+        }
+    }
+
+    private static void printTodos(TodoViewCache.Result result) {
+        if (result.getTodos().isEmpty()) {
             System.out.println("No todos found.");
             return;
         }
 
-        // Print table header
-        final String tableBorder = "+----------+--------------------------------+-----------+---------------------+---------------------+";
-        final String tableRowFormat = "| %-8s | %-30s | %-9s | %-19s | %-19s |%n";
-        System.out.println(tableBorder);
-        System.out.printf(tableRowFormat, "id", "name", "completed", "createdAt", "completedAt");
-        System.out.println(tableBorder);
-
-        final BiFunction<String, Integer, String> truncate =
-                (string, maxWidth) ->
-                        string.length() > maxWidth
-                                ? string.substring(0, maxWidth - 3) + "..."
-                                : string;
-
-        final BiFunction<LocalDateTime, DateTimeFormatter, String> formatDate =
-                (dateTime, formatter) -> dateTime != null ? dateTime.format(formatter) : null;
-
-        todos.forEach(todo ->
-                System.out.printf(tableRowFormat,
-                        todo.getId(), truncate.apply(todo.getName(), 30), todo.isCompleted() ? "✅" : "❌",
-                        formatDate.apply(todo.getCreatedAt(), DEFAULT_DATETIME_FORMATTER),
-                        formatDate.apply(todo.getCompletedAt(), DEFAULT_DATETIME_FORMATTER)
-                )
-        );
-        System.out.println(tableBorder);
+        // The table is written out in one call
+        System.out.print(result.getTable());
+        System.out.flush();
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,195 @@
+package io.github.elkamondo.batch;
+
+import io.github.elkamondo.models.Todo;
+import io.github.elkamondo.models.TodoList;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies a script of commands to a {@link TodoList}, one command per line:
+ *
+ * <pre>
+ * add &lt;name&gt;
+ * complete &lt;id&gt;
+ * uncomplete &lt;id&gt;
+ * rename &lt;id&gt; &lt;name&gt;
+ * remove &lt;id&gt;
+ * </pre>
+ *
+ * The todos added by the script are referred to by their rank instead of
+ * their generated id: {@code $1} is the first todo the script added,
+ * {@code $2} the second one and {@code $} the last one, as in
+ * {@code complete $}.
+ *
+ * <p>Blank lines and lines starting with {@code #} are skipped. The changes
+ * are flushed every {@code flushInterval} commands and once at the end; a
+ * command that can't be applied is reported and the script goes on.
+ */
+public class TodoBatch {
+
+    @FunctionalInterface
+    public interface Flusher {
+        void flush() throws IOException;
+    }
+
+    private final TodoList todos;
+    private final int flushInterval;
+    private final Flusher flusher;
+    private final PrintStream errors;
+
+    // The todos added by the running script, for the back-references
+    private final List<Todo> added = new ArrayList<>();
+
+    public TodoBatch(TodoList todos, int flushInterval, Flusher flusher, PrintStream errors) {
+        if (flushInterval <= 0) {
+            throw new IllegalArgumentException("The flush interval should be positive.");
+        }
+
+        this.todos = todos;
+        this.flushInterval = flushInterval;
+        this.flusher = flusher;
+        this.errors = errors;
+    }
+
+    public Result run(BufferedReader script) throws IOException {
+        final long start = System.nanoTime();
+        added.clear();
+
+        long lineNumber = 0;
+        long commands = 0;
+        long failed = 0;
+        long unflushed = 0;
+
+        String line;
+        while ((line = script.readLine()) != null) {
+            lineNumber++;
+            if (line.isEmpty() || line.charAt(0) == '#' || line.trim().isEmpty()) {
+                continue;
+            }
+
+            commands++;
+            final String error = apply(line);
+            if (error != null) {
+                failed++;
+                errors.printf("Line %d: %s%n", lineNumber, error);
+            }
+
+            if (++unflushed >= flushInterval) {
+                flusher.flush();
+                unflushed = 0;
+            }
+        }
+
+        flusher.flush();
+        return new Result(commands, failed, System.nanoTime() - start);
+    }
+
+    // Returns why the command failed, or null once it is applied
+    private String apply(String line) {
+        final int space = line.indexOf(' ');
+        final String command = space >= 0 ? line.substring(0, space) : line;
+        final String argument = space >= 0 ? line.substring(space + 1) : "";
+
+        switch (command) {
+            case "add":
+                if (argument.isEmpty()) {
+                    return "The todo's name is missing.";
+                }
+                added.add(todos.create(argument));
+                return null;
+
+            case "complete": {
+                final String todoId = resolve(argument);
+                return todoId != null && todos.completeTodo(todoId) ? null : unknownId(argument);
+            }
+
+            case "uncomplete": {
+                final String todoId = resolve(argument);
+                return todoId != null && todos.unCompleteTodo(todoId) ? null : unknownId(argument);
+            }
+
+            case "remove": {
+                final String todoId = resolve(argument);
+                return todoId != null && todos.removeTodo(todoId) ? null : unknownId(argument);
+            }
+
+            case "rename": {
+                final int separator = argument.indexOf(' ');
+                if (separator < 0 || separator == argument.length() - 1) {
+                    return "The todo's new name is missing.";
+                }
+
+                final String reference = argument.substring(0, separator);
+                final String todoId = resolve(reference);
+                return todoId != null && todos.renameTodo(todoId, argument.substring(separator + 1))
+                        ? null : unknownId(reference);
+            }
+
+            default:
+                return String.format("Unknown command '%s'.", command);
+        }
+    }
+
+    // Returns the id a back-reference stands for, null if the script added no such todo
+    private String resolve(String reference) {
+        if (reference.isEmpty() || reference.charAt(0) != '$') {
+            return reference;
+        }
+
+        if (reference.length() == 1) {
+            return added.isEmpty() ? null : added.get(added.size() - 1).getId();
+        }
+
+        try {
+            final int rank = Integer.parseInt(reference.substring(1));
+            return rank >= 1 && rank <= added.size() ? added.get(rank - 1).getId() : null;
+        } catch (NumberFormatException e) {
+            return reference;
+        }
+    }
+
+    private static String unknownId(String todoId) {
+        return String.format("There is no todo associated with the id '%s'.", todoId);
+    }
+
+    public static class Result {
+
+        private final long commands;
+        private final long failed;
+        private final long elapsedNanos;
+
+        Result(long commands, long failed, long elapsedNanos) {
+            this.commands = commands;
+            this.failed = failed;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getCommands() {
+            return commands;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public long getCommandsPerSecond() {
+            return elapsedNanos > 0 ? commands * 1_000_000_000L / elapsedNanos : commands;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Applied %d of %d commands in %d ms (%d commands/s).",
+                    commands - failed, commands, elapsedNanos / 1_000_000, getCommandsPerSecond());
+        }
+
+    }
+
+}
@@ -0,0 +1,269 @@
+package io.github.elkamondo.models;
+
+import io.github.elkamondo.utils.IdGenerator;
+import io.github.elkamondo.utils.IdGenerators;
+
+import java.time.LocalDateTime;
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * A {@link TodoList} counterpart that many threads can read and change at
+ * the same time without a global lock.
+ *
+ * <p>Todos are kept in a {@link ConcurrentSkipListMap} ordered by id. Each
+ * entry holds an {@link AtomicReference} to a private copy of the todo,
+ * which is never changed: a change builds a new copy and swaps it in with a
+ * compare-and-set, so completing or renaming a todo is atomic and readers
+ * never see a half applied change. Every read hands out a copy of its own,
+ * so the {@code Todo} instances returned are snapshots that don't reflect
+ * later changes, and changing them doesn't change the list.
+ *
+ * <p>The collections returned by the getters are weakly consistent views:
+ * they never throw {@code ConcurrentModificationException} and may or may
+ * not reflect changes made while they are iterated.
+ */
+public class ConcurrentTodoList {
+
+    // Left in an entry once removed, so a concurrent update can't resurrect it
+    private static final Todo REMOVED = new Todo("", null, false, null);
+
+    private final ConcurrentSkipListMap<String, AtomicReference<Todo>> todos = new ConcurrentSkipListMap<>();
+
+    private final LongAdder size = new LongAdder();
+    private final LongAdder completedSize = new LongAdder();
+
+    private final Collection<Todo> allTodosView = new FilteredView(todo -> true) {
+        @Override
+        public int size() {
+            return size.intValue();
+        }
+    };
+    private final Collection<Todo> activeTodosView = new FilteredView(todo -> !todo.isCompleted()) {
+        @Override
+        public int size() {
+            return size.intValue() - completedSize.intValue();
+        }
+    };
+    private final Collection<Todo> completedTodosView = new FilteredView(Todo::isCompleted) {
+        @Override
+        public int size() {
+            return completedSize.intValue();
+        }
+    };
+
+    private final IdGenerator idGenerator;
+
+    public ConcurrentTodoList() {
+        this(IdGenerators.random(IdGenerators.DEFAULT_LENGTH));
+    }
+
+    public ConcurrentTodoList(IdGenerator idGenerator) {
+        this.idGenerator = Objects.requireNonNull(idGenerator);
+    }
+
+    public ConcurrentTodoList(Collection<? extends Todo> collection) {
+        this();
+        addAll(collection);
+    }
+
+    public boolean isEmpty() {
+        return todos.isEmpty();
+    }
+
+    public boolean add(Todo todo) {
+        if (todo == null) {
+            return false;
+        }
+
+        final Todo copy = copyOf(todo, todo.getName(), todo.isCompleted(), todo.getCompletedAt());
+        if (todos.putIfAbsent(todo.getId(), new AtomicReference<>(copy)) != null) {
+            return false;
+        }
+
+        size.increment();
+        if (copy.isCompleted()) {
+            completedSize.increment();
+        }
+        return true;
+    }
+
+    /**
+     * Adds a new active todo with an id that isn't used in this list yet.
+     *
+     * @throws IllegalStateException if the id generator keeps returning used ids
+     */
+    public Todo create(String name) {
+        for (int attempt = 0; attempt <= size.intValue(); attempt++) {
+            final Todo todo = new Todo(idGenerator.nextId(), name, false, LocalDateTime.now());
+            if (add(todo)) {
+                return todo;
+            }
+        }
+
+        throw new IllegalStateException("Can't generate an unused todo id.");
+    }
+
+    public boolean addAll(Collection<? extends Todo> todoList) {
+        if (todoList == null) {
+            return false;
+        }
+
+        boolean modified = false;
+        for (Todo todo : todoList) {
+            modified |= add(todo);
+        }
+
+        return modified;
+    }
+
+    public boolean completeTodo(String todoId) {
+        return completeTodo(todoId, LocalDateTime.now());
+    }
+
+    public boolean completeTodo(String todoId, LocalDateTime completedAt) {
+        return update(todoId, todo -> copyOf(todo, todo.getName(), true, completedAt));
+    }
+
+    public boolean unCompleteTodo(String todoId) {
+        return update(todoId, todo -> copyOf(todo, todo.getName(), false, null));
+    }
+
+    public boolean renameTodo(String todoId, String todoNewName) {
+        return update(todoId, todo -> copyOf(todo, todoNewName, todo.isCompleted(), todo.getCompletedAt()));
+    }
+
+    public boolean removeTodo(String todoId) {
+        if (todoId == null) {
+            return false;
+        }
+
+        final AtomicReference<Todo> entry = todos.remove(todoId);
+        if (entry == null) {
+            return false;
+        }
+
+        final Todo removed = entry.getAndSet(REMOVED);
+        size.decrement();
+        if (removed.isCompleted()) {
+            completedSize.decrement();
+        }
+        return true;
+    }
+
+    public Optional<Todo> getTodo(String todoId) {
+        if (todoId == null) {
+            return Optional.empty();
+        }
+
+        final AtomicReference<Todo> entry = todos.get(todoId);
+        final Todo todo = entry != null ? entry.get() : null;
+        return todo != null && todo != REMOVED ? Optional.of(new Todo(todo)) : Optional.empty();
+    }
+
+    public Collection<? extends Todo> getAllTodos() {
+        return allTodosView;
+    }
+
+    public Collection<? extends Todo> getActiveTodos() {
+        return activeTodosView;
+    }
+
+    public Collection<? extends Todo> getCompletedTodos() {
+        return completedTodosView;
+    }
+
+    private boolean update(String todoId, UnaryOperator<Todo> change) {
+        if (todoId == null) {
+            return false;
+        }
+
+        final AtomicReference<Todo> entry = todos.get(todoId);
+        if (entry == null) {
+            return false;
+        }
+
+        while (true) {
+            final Todo current = entry.get();
+            if (current == REMOVED) {
+                return false;
+            }
+
+            final Todo updated = change.apply(current);
+            if (entry.compareAndSet(current, updated)) {
+                if (!current.isCompleted() && updated.isCompleted()) {
+                    completedSize.increment();
+                } else if (current.isCompleted() && !updated.isCompleted()) {
+                    completedSize.decrement();
+                }
+                return true;
+            }
+        }
+    }
+
+    private static Todo copyOf(Todo todo, String name, boolean completed, LocalDateTime completedAt) {
+        return new Todo(todo.getId(), name, completed, todo.getCreatedAt(), completedAt);
+    }
+
+    @Override
+    public String toString() {
+        return allTodosView.toString();
+    }
+
+    /**
+     * A read-only view of the todos matching a filter, in id order.
+     */
+    private abstract class FilteredView extends AbstractCollection<Todo> {
+
+        private final Predicate<Todo> filter;
+
+        FilteredView(Predicate<Todo> filter) {
+            this.filter = filter;
+        }
+
+        @Override
+        public Iterator<Todo> iterator() {
+            final Iterator<AtomicReference<Todo>> entries = todos.values().iterator();
+
+            return new Iterator<Todo>() {
+                private Todo next = advance();
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public Todo next() {
+                    if (next == null) {
+                        throw new NoSuchElementException();
+                    }
+                    final Todo todo = next;
+                    next = advance();
+                    return new Todo(todo);
+                }
+
+                private Todo advance() {
+                    while (entries.hasNext()) {
+                        final Todo todo = entries.next().get();
+                        if (todo != REMOVED && filter.test(todo)) {
+                            return todo;
+                        }
+                    }
+                    return null;
+                }
+            };
+        }
+
+    }
+
+}
@@ -0,0 +1,147 @@
+package io.github.elkamondo.models;
+
+import java.util.*;
+
+/**
+ * An inverted index from the words of the todo names to the todos using
+ * them. Words are the runs of letters and digits of a name, lowercased;
+ * they are kept sorted, so all the words starting with a prefix are found
+ * with a single range lookup.
+ *
+ * <p>Postings hold the todos themselves, compared by identity, so a match
+ * needs no lookup by id and a rename doesn't disturb the sets.
+ */
+class NameIndex {
+
+    // Above this many indexed words, a word of the query is checked against the names instead
+    private static final int MAX_POSTINGS_PER_LOOKUP = 16;
+
+    private final NavigableMap<String, Set<Todo>> postings = new TreeMap<>();
+
+    void add(Todo todo, String name) {
+        for (String token : tokenize(name)) {
+            postings.computeIfAbsent(token, key -> Collections.newSetFromMap(new IdentityHashMap<>())).add(todo);
+        }
+    }
+
+    void remove(Todo todo, String name) {
+        for (String token : tokenize(name)) {
+            final Set<Todo> todos = postings.get(token);
+            if (todos != null && todos.remove(todo) && todos.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+    }
+
+    /**
+     * Returns the todos having, for every word of the query, a word of
+     * their name that starts with it.
+     *
+     * <p>The todos matching the most selective word are checked against the
+     * other words: through their postings when the word only prefixes a few
+     * indexed words, otherwise by looking at the todo's name.
+     */
+    Set<Todo> search(String query) {
+        final List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        final List<List<Set<Todo>>> termPostings = new ArrayList<>(terms.size());
+        int mostSelective = 0;
+        long fewestTodos = Long.MAX_VALUE;
+        for (int i = 0; i < terms.size(); i++) {
+            final List<Set<Todo>> matching = postingsStartingWith(terms.get(i));
+            termPostings.add(matching);
+
+            long todos = 0;
+            for (Set<Todo> posting : matching) {
+                todos += posting.size();
+            }
+            if (todos < fewestTodos) {
+                fewestTodos = todos;
+                mostSelective = i;
+            }
+        }
+
+        if (fewestTodos == 0) {
+            return Collections.emptySet();
+        }
+
+        final Set<Todo> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Set<Todo> posting : termPostings.get(mostSelective)) {
+            for (Todo todo : posting) {
+                if (matchesOtherTerms(todo, terms, termPostings, mostSelective)) {
+                    matches.add(todo);
+                }
+            }
+        }
+
+        return matches;
+    }
+
+    private List<Set<Todo>> postingsStartingWith(String prefix) {
+        // The highest character bounds every word starting with the prefix
+        return new ArrayList<>(postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values());
+    }
+
+    private static boolean matchesOtherTerms(Todo todo, List<String> terms, List<List<Set<Todo>>> termPostings,
+                                             int skippedTerm) {
+        for (int i = 0; i < terms.size(); i++) {
+            if (i == skippedTerm) {
+                continue;
+            }
+
+            final List<Set<Todo>> postings = termPostings.get(i);
+            final boolean matches = postings.size() <= MAX_POSTINGS_PER_LOOKUP
+                    ? containedInAny(postings, todo)
+                    : hasWordStartingWith(todo.getName(), terms.get(i));
+            if (!matches) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containedInAny(List<Set<Todo>> postings, Todo todo) {
+        for (Set<Todo> posting : postings) {
+            if (posting.contains(todo)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasWordStartingWith(String name, String term) {
+        for (String token : tokenize(name)) {
+            if (token.startsWith(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final List<String> tokens = new ArrayList<>();
+        int start = -1;
+        // By code point, so letters outside of the BMP are part of words too
+        for (int i = 0; i <= text.length(); ) {
+            final int codePoint = i < text.length() ? text.codePointAt(i) : -1;
+            final boolean wordChar = codePoint >= 0 && Character.isLetterOrDigit(codePoint);
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+            i += codePoint >= 0 ? Character.charCount(codePoint) : 1;
+        }
+
+        return tokens;
+    }
+
+}
@@ -0,0 +1,68 @@
+package io.github.elkamondo.models;
+
+import java.util.*;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+import static io.github.elkamondo.utils.DateTimeCodec.NO_TIMESTAMP;
+
+/**
+ * Todos sorted by one of their timestamps, in epoch seconds, then by id.
+ * Todos without that timestamp aren't indexed.
+ *
+ * <p>The timestamp is part of the sort key: a todo must be removed before
+ * its timestamp changes and added back afterwards.
+ */
+class TimeIndex {
+
+    private final ToLongFunction<Todo> time;
+    // Builds a todo sorting before any other one at the given time, to bound ranges
+    private final LongFunction<Todo> lowestAt;
+
+    private final NavigableSet<Todo> todos;
+
+    TimeIndex(ToLongFunction<Todo> time, LongFunction<Todo> lowestAt) {
+        this.time = time;
+        this.lowestAt = lowestAt;
+        this.todos = new TreeSet<>(Comparator.comparingLong(time).thenComparing(Comparator.naturalOrder()));
+    }
+
+    void add(Todo todo) {
+        if (time.applyAsLong(todo) != NO_TIMESTAMP) {
+            todos.add(todo);
+        }
+    }
+
+    void remove(Todo todo) {
+        if (time.applyAsLong(todo) != NO_TIMESTAMP) {
+            todos.remove(todo);
+        }
+    }
+
+    /**
+     * @return a read-only view of the todos timed in {@code [from, to)}, oldest first
+     */
+    NavigableSet<Todo> between(long from, long to) {
+        if (from >= to) {
+            return Collections.emptyNavigableSet();
+        }
+        return Collections.unmodifiableNavigableSet(todos.subSet(lowestAt.apply(from), true, lowestAt.apply(to), false));
+    }
+
+    /**
+     * @return up to {@code limit} todos, most recent first
+     */
+    List<Todo> mostRecent(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("The limit should not be negative.");
+        }
+
+        final List<Todo> recent = new ArrayList<>(Math.min(limit, todos.size()));
+        final Iterator<Todo> iterator = todos.descendingIterator();
+        while (recent.size() < limit && iterator.hasNext()) {
+            recent.add(iterator.next());
+        }
+        return recent;
+    }
+
+}
@@ -5,17 +5,36 @@ import io.github.elkamondo.utils.GeneratedIdentifier;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
+import static io.github.elkamondo.utils.DateTimeCodec.*;
+import static io.github.elkamondo.utils.PackedIds.*;
+
+/**
+ * A todo is kept in primitive fields to keep its footprint small: ids of up
+ * to 8 ASCII characters, which generated ids are, are packed into a
+ * {@code long} and timestamps are stored as epoch seconds. The getters
+ * rebuild the {@code String} and {@code LocalDateTime} values on demand,
+ * timestamps being truncated to the second.
+ */
 public class Todo implements Comparable<Todo>, GeneratedIdentifier {
 
-    private final String id;
+    private static final byte COMPLETED = 0x1;
+
+    private final long packedId;
+    // Only set for ids that can't be packed
+    private final String unpackedId;
     private String name;
-    private boolean completed;
-    private LocalDateTime createdAt = LocalDateTime.now();
-    private LocalDateTime completedAt;
+    private final long createdAt;
+    private long completedAt;
+    private byte flags;
 
     public Todo(String name) {
+        final String id = generateId(8);
+        final boolean packable = isPackable(id);
+        this.packedId = packable ? packId(id) : 0;
+        this.unpackedId = packable ? null : id;
         this.name = name;
-        this.id = generateId(8);
+        this.createdAt = toEpochSecond(LocalDateTime.now());
+        this.completedAt = NO_TIMESTAMP;
     }
 
     public Todo(String id, String name, boolean completed, LocalDateTime createdAt) {
@@ -23,15 +42,32 @@ public class Todo implements Comparable<Todo>, GeneratedIdentifier {
     }
 
     public Todo(String id, String name, boolean completed, LocalDateTime createdAt, LocalDateTime completedAt) {
+        // A null id would be packed like the empty one, and be equal to it
+        if (id == null) {
+            throw new IllegalArgumentException("The id of a todo should not be null.");
+        }
+
+        final boolean packable = isPackable(id);
+        this.packedId = packable ? packId(id) : 0;
+        this.unpackedId = packable ? null : id;
         this.name = name;
-        this.completed = completed;
-        this.createdAt = createdAt;
-        this.completedAt = completedAt;
-        this.id = id;
+        this.createdAt = toEpochSecond(createdAt);
+        this.completedAt = toEpochSecond(completedAt);
+        this.flags = completed ? COMPLETED : 0;
+    }
+
+    // A snapshot of the todo, copied field by field
+    Todo(Todo todo) {
+        this.packedId = todo.packedId;
+        this.unpackedId = todo.unpackedId;
+        this.name = todo.name;
+        this.createdAt = todo.createdAt;
+        this.completedAt = todo.completedAt;
+        this.flags = todo.flags;
     }
 
     public String getId() {
-        return id;
+        return unpackedId != null ? unpackedId : unpackId(packedId);
     }
 
     public String getName() {
@@ -43,28 +79,47 @@ public class Todo implements Comparable<Todo>, GeneratedIdentifier {
     }
 
     public LocalDateTime getCreatedAt() {
+        return fromEpochSecond(createdAt);
+    }
+
+    /**
+     * @return the creation time in epoch seconds, or {@code NO_TIMESTAMP} if unknown
+     */
+    public long getCreatedAtEpochSecond() {
         return createdAt;
     }
 
     public boolean isCompleted() {
-        return completed;
+        return (flags & COMPLETED) != 0;
     }
 
     public void setComplete(boolean isCompleted) {
-        this.completed = isCompleted;
+        this.flags = (byte) (isCompleted ? flags | COMPLETED : flags & ~COMPLETED);
     }
 
     public LocalDateTime getCompletedAt() {
+        return fromEpochSecond(completedAt);
+    }
+
+    /**
+     * @return the completion time in epoch seconds, or {@code NO_TIMESTAMP} if not completed
+     */
+    public long getCompletedAtEpochSecond() {
         return completedAt;
     }
 
     public void setCompletedAt(LocalDateTime completedAt) {
-        this.completedAt = completedAt;
+        this.completedAt = toEpochSecond(completedAt);
     }
 
+    /**
+     * Todos are identified by their id alone, the one field that never
+     * changes, so a todo keeps its place in hash and sorted collections
+     * when it is renamed or completed.
+     */
     @Override
     public int hashCode() {
-        return 31 * Objects.hash(id, name, completed, createdAt);
+        return unpackedId != null ? unpackedId.hashCode() : Long.hashCode(packedId);
     }
 
     @Override
@@ -82,23 +137,29 @@ public class Todo implements Comparable<Todo>, GeneratedIdentifier {
         }
 
         final Todo todo = (Todo) obj;
-        return Objects.equals(id, todo.id)
-                && Objects.equals(name, todo.name)
-                && Objects.equals(completed, todo.completed)
-                && Objects.equals(createdAt, todo.createdAt);
+        return packedId == todo.packedId && Objects.equals(unpackedId, todo.unpackedId);
     }
 
+    /**
+     * Orders todos by id, consistently with {@link #equals}. Packed ids are
+     * compared as unsigned values, which gives the same order as comparing
+     * the strings.
+     */
     @Override
     public int compareTo(Todo other) {
-        return id.compareTo(other.id);
+        if (unpackedId == null && other.unpackedId == null) {
+            return Long.compareUnsigned(packedId, other.packedId);
+        }
+
+        return getId().compareTo(other.getId());
     }
 
     @Override
     public String toString() {
         return String.format(
                 "Todo={id=%s, name='%s', completed=%b, createdAt=%s, completedAt=%s}",
-                id, name, completed, createdAt, completedAt
+                getId(), name, isCompleted(), getCreatedAt(), getCompletedAt()
         );
     }
 
-}
\ No newline at end of file
+}
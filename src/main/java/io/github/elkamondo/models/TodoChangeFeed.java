@@ -0,0 +1,269 @@
+package io.github.elkamondo.models;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Publishes the changes made to a {@link TodoList} as batches of
+ * {@link TodoEvent}s.
+ *
+ * <p>A change is only queued for each subscriber on the thread that made
+ * it; batches are delivered later on the executor, as far as the
+ * subscriber's demand allows. While a subscriber lags behind, the events
+ * of a todo are coalesced into one (see {@link TodoEvent#coalesce}), so
+ * its queue never holds more events than there are todos and a slow
+ * subscriber never holds up the changes to the list.
+ *
+ * <p>A subscriber only sees the changes made after it subscribed. Closing
+ * the feed detaches it from the list and completes every subscriber once
+ * its queued events are delivered.
+ */
+public class TodoChangeFeed implements Flow.Publisher<List<TodoEvent>>, TodoListener, AutoCloseable {
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = Flow.defaultBufferSize();
+
+    private final TodoList todos;
+    private final Executor executor;
+    private final int maxBatchSize;
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+
+    private TodoChangeFeed(TodoList todos, Executor executor, int maxBatchSize) {
+        this.todos = todos;
+        this.executor = executor;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public static TodoChangeFeed attach(TodoList todos) {
+        return attach(todos, ForkJoinPool.commonPool(), DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Starts publishing the changes made to {@code todos}, in batches of at
+     * most {@code maxBatchSize} events delivered on {@code executor}.
+     */
+    public static TodoChangeFeed attach(TodoList todos, Executor executor, int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("The maximum batch size should be positive.");
+        }
+
+        final TodoChangeFeed feed = new TodoChangeFeed(todos, Objects.requireNonNull(executor), maxBatchSize);
+        todos.addListener(feed);
+        return feed;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super List<TodoEvent>> subscriber) {
+        final Subscription subscription = new Subscription(Objects.requireNonNull(subscriber));
+        subscriptions.add(subscription);
+        subscriber.onSubscribe(subscription);
+
+        // Closed in the meantime, the subscription is completed right away
+        if (closed) {
+            subscription.complete();
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    @Override
+    public void todoAdded(Todo todo) {
+        publish(TodoEvent.Type.ADDED, todo);
+    }
+
+    @Override
+    public void todoCompleted(Todo todo) {
+        publish(TodoEvent.Type.COMPLETED, todo);
+    }
+
+    @Override
+    public void todoUnCompleted(Todo todo) {
+        publish(TodoEvent.Type.UNCOMPLETED, todo);
+    }
+
+    @Override
+    public void todoRenamed(Todo todo) {
+        publish(TodoEvent.Type.RENAMED, todo);
+    }
+
+    @Override
+    public void todoRemoved(Todo todo) {
+        publish(TodoEvent.Type.REMOVED, todo);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        todos.removeListener(this);
+        for (Subscription subscription : subscriptions) {
+            subscription.complete();
+        }
+    }
+
+    private void publish(TodoEvent.Type type, Todo todo) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+
+        // One copy of the todo is shared by every subscriber
+        final TodoEvent event = TodoEvent.of(type, todo);
+        for (Subscription subscription : subscriptions) {
+            subscription.enqueue(event);
+        }
+    }
+
+    private class Subscription implements Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super List<TodoEvent>> subscriber;
+
+        // The latest event of each todo, in the order the todos first changed; guarded by this.
+        // Keyed by the event's copy of the todo, which hashes its packed id without unpacking it.
+        private final Map<Todo, TodoEvent> pending = new LinkedHashMap<>();
+        private long demand;
+        private boolean draining;
+        private boolean completing;
+        private boolean done;
+
+        Subscription(Flow.Subscriber<? super List<TodoEvent>> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        void enqueue(TodoEvent event) {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+
+                final TodoEvent previous = pending.putIfAbsent(event.getTodo(), event);
+                if (previous != null) {
+                    final TodoEvent coalesced = previous.coalesce(event);
+                    if (coalesced != null) {
+                        pending.put(event.getTodo(), coalesced);
+                    } else {
+                        pending.remove(event.getTodo());
+                    }
+                }
+
+                // A drain already scheduled, or waiting for demand, picks the event up
+                if (!startDrain()) {
+                    return;
+                }
+            }
+            executor.execute(this);
+        }
+
+        void complete() {
+            synchronized (this) {
+                completing = true;
+            }
+            scheduleDrain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("The number of requested batches should be positive."));
+                return;
+            }
+
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                // Saturates, as an unbounded demand is usually asked with Long.MAX_VALUE
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            }
+            scheduleDrain();
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                done = true;
+                pending.clear();
+            }
+            subscriptions.remove(this);
+        }
+
+        private void scheduleDrain() {
+            final boolean start;
+            synchronized (this) {
+                start = startDrain();
+            }
+            if (start) {
+                executor.execute(this);
+            }
+        }
+
+        // At most one drain runs at a time, so batches are delivered in order
+        private boolean startDrain() {
+            if (draining || done || !(completing || (demand > 0 && !pending.isEmpty()))) {
+                return false;
+            }
+            draining = true;
+            return true;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                final List<TodoEvent> batch;
+                synchronized (this) {
+                    if (done) {
+                        draining = false;
+                        return;
+                    }
+
+                    if (pending.isEmpty() && completing) {
+                        done = true;
+                        draining = false;
+                    } else if (pending.isEmpty() || demand == 0) {
+                        draining = false;
+                        return;
+                    }
+
+                    batch = done ? null : takeBatch();
+                }
+
+                if (batch == null) {
+                    subscriptions.remove(this);
+                    subscriber.onComplete();
+                    return;
+                }
+
+                try {
+                    subscriber.onNext(batch);
+                } catch (RuntimeException e) {
+                    // A subscriber shouldn't throw, the subscription is considered cancelled
+                    cancel();
+                    return;
+                }
+            }
+        }
+
+        private List<TodoEvent> takeBatch() {
+            final List<TodoEvent> batch = new ArrayList<>(Math.min(maxBatchSize, pending.size()));
+            final Iterator<TodoEvent> events = pending.values().iterator();
+            while (batch.size() < maxBatchSize && events.hasNext()) {
+                batch.add(events.next());
+                events.remove();
+            }
+            demand--;
+            return batch;
+        }
+
+    }
+
+}
@@ -0,0 +1,79 @@
+package io.github.elkamondo.models;
+
+import java.util.Objects;
+
+/**
+ * A change made to a todo of a {@link TodoList}, as published by a
+ * {@link TodoChangeFeed}. The event carries a copy of the todo as it was
+ * right after the change, so later changes don't affect it.
+ */
+public final class TodoEvent {
+
+    public enum Type {
+        ADDED, COMPLETED, UNCOMPLETED, RENAMED, REMOVED,
+
+        /**
+         * The todo was removed, then a todo with the same id was added: only
+         * published for coalesced events, the new todo replaces the old one.
+         */
+        REPLACED
+    }
+
+    private final Type type;
+    private final Todo todo;
+
+    public TodoEvent(Type type, Todo todo) {
+        this.type = Objects.requireNonNull(type);
+        this.todo = Objects.requireNonNull(todo);
+    }
+
+    static TodoEvent of(Type type, Todo todo) {
+        return new TodoEvent(type, new Todo(todo));
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getTodoId() {
+        return todo.getId();
+    }
+
+    public Todo getTodo() {
+        return todo;
+    }
+
+    /**
+     * Folds {@code next} into this earlier event of the same todo, so a
+     * subscriber that lags behind only sees the todo's latest state: a todo
+     * added then changed is still added, a todo added then removed is
+     * dropped altogether, a todo removed then added again is replaced and
+     * otherwise the last change wins.
+     *
+     * @return the event standing for both, or {@code null} when they cancel out
+     */
+    TodoEvent coalesce(TodoEvent next) {
+        if (next.type == Type.REMOVED) {
+            return type == Type.ADDED ? null : next;
+        }
+
+        switch (type) {
+            case ADDED:
+            case REPLACED:
+                return new TodoEvent(type, next.todo);
+
+            case REMOVED:
+                // The subscriber still holds the removed todo, which is unrelated to the new one
+                return new TodoEvent(Type.REPLACED, next.todo);
+
+            default:
+                return next;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + todo;
+    }
+
+}
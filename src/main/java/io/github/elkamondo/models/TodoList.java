@@ -1,26 +1,78 @@
 package io.github.elkamondo.models;
 
+import io.github.elkamondo.utils.IdGenerator;
+import io.github.elkamondo.utils.IdGenerators;
+import io.github.elkamondo.utils.metrics.LatencyHistogram;
+import io.github.elkamondo.utils.metrics.Metrics;
+
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.function.Predicate;
 
-import static java.util.stream.Collectors.toCollection;
+import static io.github.elkamondo.utils.DateTimeCodec.fromEpochSecond;
+import static io.github.elkamondo.utils.DateTimeCodec.toEpochSecond;
 
 public class TodoList {
 
-    private static final Comparator<Todo> BY_ID_THEN_NAME_THEN_DATE =
-            Comparator.comparing(Todo::getId)
-                      .thenComparing(Todo::getName)
-                      .thenComparing(Todo::getCreatedAt);
+    // Todos are sorted by id only: it never changes, so renaming or completing a todo can't misplace it
+    private static final Comparator<Todo> BY_ID = Comparator.naturalOrder();
+
+    /**
+     * The todos a page is taken from.
+     */
+    public enum View {
+        ALL, ACTIVE, COMPLETED
+    }
+
+    // Latencies of the operations of every list, lookups and views excepted as they cost less than reading the clock
+    private static final LatencyHistogram ADD_LATENCY = Metrics.global().histogram("todoList.add");
+    private static final LatencyHistogram COMPLETE_LATENCY = Metrics.global().histogram("todoList.complete");
+    private static final LatencyHistogram UNCOMPLETE_LATENCY = Metrics.global().histogram("todoList.uncomplete");
+    private static final LatencyHistogram RENAME_LATENCY = Metrics.global().histogram("todoList.rename");
+    private static final LatencyHistogram REMOVE_LATENCY = Metrics.global().histogram("todoList.remove");
+    private static final LatencyHistogram BULK_LATENCY = Metrics.global().histogram("todoList.bulk");
+    private static final LatencyHistogram SEARCH_LATENCY = Metrics.global().histogram("todoList.search");
+    private static final LatencyHistogram PAGE_LATENCY = Metrics.global().histogram("todoList.page");
+
+    private final NavigableSet<Todo> todos = new TreeSet<>(BY_ID);
+
+    // Partitions of the todos by completion state, updated on every mutation
+    private final NavigableSet<Todo> activeTodos = new TreeSet<>(BY_ID);
+    private final NavigableSet<Todo> completedTodos = new TreeSet<>(BY_ID);
+
+    private final List<TodoListener> listeners = new ArrayList<>();
 
-    private final Set<Todo> todos = new TreeSet<>(BY_ID_THEN_NAME_THEN_DATE);
+    private final Set<Todo> allTodosView = Collections.unmodifiableSet(todos);
+    private final Set<Todo> activeTodosView = Collections.unmodifiableSet(activeTodos);
+    private final Set<Todo> completedTodosView = Collections.unmodifiableSet(completedTodos);
+
+    // Hash index on the todo's id, kept in sync with the ordered set
+    private final Map<String, Todo> todosById = new HashMap<>();
+
+    // Inverted index on the words of the todo names
+    private final NameIndex nameIndex = new NameIndex();
+
+    // Sorted indexes on the timestamps, a todo is taken out of one while its timestamp changes
+    private final TimeIndex createdAtIndex = new TimeIndex(Todo::getCreatedAtEpochSecond,
+            epochSecond -> new Todo("", null, false, fromEpochSecond(epochSecond)));
+    private final TimeIndex completedAtIndex = new TimeIndex(Todo::getCompletedAtEpochSecond,
+            epochSecond -> new Todo("", null, true, null, fromEpochSecond(epochSecond)));
+
+    private final IdGenerator idGenerator;
+
+    private long version;
+
+    public TodoList() {
+        this(IdGenerators.random(IdGenerators.DEFAULT_LENGTH));
+    }
 
-    public TodoList() {}
+    public TodoList(IdGenerator idGenerator) {
+        this.idGenerator = Objects.requireNonNull(idGenerator);
+    }
 
     public TodoList(Collection<? extends Todo> collection) {
-        if (collection != null) {
-            todos.addAll(collection);
-        }
+        this();
+        addAll(collection);
     }
 
     public boolean isEmpty() {
@@ -28,11 +80,46 @@ public class TodoList {
     }
 
     public boolean add(Todo todo) {
-        if (todo == null) {
-            return false;
+        final long start = System.nanoTime();
+        try {
+            if (todo == null || todosById.containsKey(todo.getId())) {
+                return false;
+            }
+
+            todosById.put(todo.getId(), todo);
+            partitionOf(todo).add(todo);
+            todos.add(todo);
+            nameIndex.add(todo, todo.getName());
+            createdAtIndex.add(todo);
+            completedAtIndex.add(todo);
+
+            version++;
+            for (TodoListener listener : listeners) {
+                listener.todoAdded(todo);
+            }
+            return true;
+        } finally {
+            ADD_LATENCY.recordSince(start);
+        }
+    }
+
+    /**
+     * Adds a new active todo with an id that isn't used in this list yet.
+     *
+     * @throws IllegalStateException if the id generator keeps returning used ids
+     */
+    public Todo create(String name) {
+        // Every used id can be returned at most once before a free one, unless the generator repeats itself
+        for (int attempt = 0; attempt <= todosById.size(); attempt++) {
+            final String id = idGenerator.nextId();
+            if (!todosById.containsKey(id)) {
+                final Todo todo = new Todo(id, name, false, LocalDateTime.now());
+                add(todo);
+                return todo;
+            }
         }
 
-        return todos.add(todo);
+        throw new IllegalStateException("Can't generate an unused todo id.");
     }
 
     public boolean addAll(Collection<? extends Todo> todoList) {
@@ -40,91 +127,406 @@ public class TodoList {
             return false;
         }
 
-        return todos.addAll(todoList);
+        boolean modified = false;
+        for (Todo todo : todoList) {
+            modified |= add(todo);
+        }
+
+        return modified;
     }
 
     public boolean completeTodo(String todoId) {
-        if (todoId == null) {
-            return false;
-        }
+        return completeTodo(todoId, LocalDateTime.now());
+    }
 
-        final Optional<Todo> completedTodo =
-                todos.stream()
-                     .filter(todo -> todoId.equals(todo.getId()))
-                     .findFirst();
+    public boolean completeTodo(String todoId, LocalDateTime completedAt) {
+        final long start = System.nanoTime();
+        try {
+            final Todo todo = findById(todoId);
+            if (todo == null) {
+                return false;
+            }
 
-        if (completedTodo.isPresent()) {
-            final Todo todo = completedTodo.get();
-            todo.setComplete(true);
-            todo.setCompletedAt(LocalDateTime.now());
+            complete(todo, completedAt);
             return true;
+        } finally {
+            COMPLETE_LATENCY.recordSince(start);
         }
-
-        return false;
     }
 
     public boolean unCompleteTodo(String todoId) {
-        if (todoId == null) {
-            return false;
-        }
+        final long start = System.nanoTime();
+        try {
+            final Todo todo = findById(todoId);
+            if (todo == null) {
+                return false;
+            }
 
-        final Optional<Todo> completedTodo =
-                todos.stream()
-                     .filter(todo -> todoId.equals(todo.getId()))
-                     .findFirst();
+            if (todo.isCompleted()) {
+                completedTodos.remove(todo);
+                activeTodos.add(todo);
+            }
 
-        if (completedTodo.isPresent()) {
-            final Todo todo = completedTodo.get();
+            completedAtIndex.remove(todo);
             todo.setComplete(false);
             todo.setCompletedAt(null);
+
+            version++;
+            for (TodoListener listener : listeners) {
+                listener.todoUnCompleted(todo);
+            }
             return true;
+        } finally {
+            UNCOMPLETE_LATENCY.recordSince(start);
         }
-
-        return false;
     }
 
     public boolean removeTodo(String todoId) {
-        if (todoId == null) {
-            return false;
-        }
+        final long start = System.nanoTime();
+        try {
+            final Todo todo = findById(todoId);
+            if (todo == null) {
+                return false;
+            }
 
-        return todos.removeIf(todo -> todoId.equals(todo.getId()));
+            remove(todo);
+            return true;
+        } finally {
+            REMOVE_LATENCY.recordSince(start);
+        }
     }
 
     public boolean renameTodo(String todoId, String todoNewName) {
-        if (todoId == null) {
-            return false;
+        final long start = System.nanoTime();
+        try {
+            final Todo todo = findById(todoId);
+            if (todo == null) {
+                return false;
+            }
+
+            rename(todo, todoNewName);
+            return true;
+        } finally {
+            RENAME_LATENCY.recordSince(start);
+        }
+    }
+
+    /**
+     * Completes the todos with the given ids, all at the same time.
+     *
+     * @return for every id, in the order given, whether a todo was completed
+     */
+    public Map<String, Boolean> completeAll(Collection<String> todoIds) {
+        final long start = System.nanoTime();
+        try {
+            final LocalDateTime completedAt = LocalDateTime.now();
+            final Map<String, Boolean> results = new LinkedHashMap<>();
+            for (String todoId : todoIds) {
+                final Todo todo = findById(todoId);
+                if (todo != null) {
+                    complete(todo, completedAt);
+                }
+                results.merge(todoId, todo != null, Boolean::logicalOr);
+            }
+            return results;
+        } finally {
+            BULK_LATENCY.recordSince(start);
         }
+    }
 
-        final Optional<Todo> completedTodo =
-                todos.stream()
-                      .filter(todo -> todoId.equals(todo.getId()))
-                      .findFirst();
+    /**
+     * @return for every id, in the order given, whether a todo was removed
+     */
+    public Map<String, Boolean> removeAll(Collection<String> todoIds) {
+        final long start = System.nanoTime();
+        try {
+            final Map<String, Boolean> results = new LinkedHashMap<>();
+            for (String todoId : todoIds) {
+                final Todo todo = findById(todoId);
+                if (todo != null) {
+                    remove(todo);
+                }
+                results.merge(todoId, todo != null, Boolean::logicalOr);
+            }
+            return results;
+        } finally {
+            BULK_LATENCY.recordSince(start);
+        }
+    }
 
-        if (completedTodo.isPresent()) {
-            final Todo todo = completedTodo.get();
-            todo.setName(todoNewName);
-            return true;
+    /**
+     * Gives the todos their new names, keyed by id.
+     *
+     * @return for every id, in the order of the map, whether a todo was renamed
+     */
+    public Map<String, Boolean> renameAll(Map<String, String> newNamesById) {
+        final long start = System.nanoTime();
+        try {
+            final Map<String, Boolean> results = new LinkedHashMap<>();
+            for (Map.Entry<String, String> newName : newNamesById.entrySet()) {
+                final Todo todo = findById(newName.getKey());
+                if (todo != null) {
+                    rename(todo, newName.getValue());
+                }
+                results.merge(newName.getKey(), todo != null, Boolean::logicalOr);
+            }
+            return results;
+        } finally {
+            BULK_LATENCY.recordSince(start);
+        }
+    }
+
+    /**
+     * Removes the todos matching the filter, found in a single pass.
+     *
+     * @return the ids of the removed todos, in id order
+     */
+    public List<String> removeIf(Predicate<? super Todo> filter) {
+        final long start = System.nanoTime();
+        try {
+            final List<Todo> matches = matching(todos, filter);
+            final List<String> removed = new ArrayList<>(matches.size());
+            for (Todo todo : matches) {
+                remove(todo);
+                removed.add(todo.getId());
+            }
+            return removed;
+        } finally {
+            BULK_LATENCY.recordSince(start);
         }
+    }
 
-        return false;
+    /**
+     * Completes the active todos matching the filter, found in a single
+     * pass, all at the same time.
+     *
+     * @return the ids of the completed todos, in id order
+     */
+    public List<String> completeIf(Predicate<? super Todo> filter) {
+        final long start = System.nanoTime();
+        try {
+            final LocalDateTime completedAt = LocalDateTime.now();
+            final List<Todo> matches = matching(activeTodos, filter);
+            final List<String> completed = new ArrayList<>(matches.size());
+            for (Todo todo : matches) {
+                complete(todo, completedAt);
+                completed.add(todo.getId());
+            }
+            return completed;
+        } finally {
+            BULK_LATENCY.recordSince(start);
+        }
     }
 
+    public Optional<Todo> getTodo(String todoId) {
+        return Optional.ofNullable(findById(todoId));
+    }
+
+    /**
+     * Finds the todos having, for every word of the query, a word of their
+     * name that starts with it, ignoring case. {@code "pay bil"} matches
+     * "Pay the bills" but not "Pay the rent".
+     *
+     * @return the matching todos, ordered by id
+     */
+    public List<Todo> search(String query) {
+        final long start = System.nanoTime();
+        try {
+            final List<Todo> matches = new ArrayList<>(nameIndex.search(query));
+            matches.sort(null);
+            return matches;
+        } finally {
+            SEARCH_LATENCY.recordSince(start);
+        }
+    }
+
+    /**
+     * Returns a read-only view of the todos created in {@code [from, to)},
+     * oldest first. Times are compared to the second.
+     */
+    public Collection<? extends Todo> getTodosCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        return createdAtIndex.between(toEpochSecond(Objects.requireNonNull(from)), toEpochSecond(Objects.requireNonNull(to)));
+    }
+
+    /**
+     * Returns a read-only view of the todos completed in {@code [from, to)},
+     * oldest first. Times are compared to the second.
+     */
+    public Collection<? extends Todo> getTodosCompletedBetween(LocalDateTime from, LocalDateTime to) {
+        return completedAtIndex.between(toEpochSecond(Objects.requireNonNull(from)), toEpochSecond(Objects.requireNonNull(to)));
+    }
+
+    public int countTodosCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        return getTodosCreatedBetween(from, to).size();
+    }
+
+    public int countTodosCompletedBetween(LocalDateTime from, LocalDateTime to) {
+        return getTodosCompletedBetween(from, to).size();
+    }
+
+    /**
+     * @return the {@code limit} last created todos, most recent first
+     */
+    public List<Todo> getRecentlyCreatedTodos(int limit) {
+        return createdAtIndex.mostRecent(limit);
+    }
+
+    /**
+     * @return the {@code limit} last completed todos, most recent first
+     */
+    public List<Todo> getRecentlyCompletedTodos(int limit) {
+        return completedAtIndex.mostRecent(limit);
+    }
+
+    /**
+     * Returns up to {@code pageSize} todos of the view that follow
+     * {@code cursor}, or the first ones when the cursor is {@code null}.
+     * The cursor is usually the last todo of the previous page; it may have
+     * been removed since, the page then starts where it used to be.
+     */
+    public List<Todo> getPageAfter(View view, Todo cursor, int pageSize) {
+        final long start = System.nanoTime();
+        try {
+            final NavigableSet<Todo> todos = todosOf(view);
+            return page(cursor != null ? todos.tailSet(cursor, false).iterator() : todos.iterator(), pageSize);
+        } finally {
+            PAGE_LATENCY.recordSince(start);
+        }
+    }
+
+    /**
+     * Returns up to {@code pageSize} todos of the view that precede
+     * {@code cursor}, in order, or the last ones when the cursor is {@code null}.
+     */
+    public List<Todo> getPageBefore(View view, Todo cursor, int pageSize) {
+        final long start = System.nanoTime();
+        try {
+            final NavigableSet<Todo> todos = todosOf(view);
+            final List<Todo> page = page(cursor != null
+                    ? todos.headSet(cursor, false).descendingIterator()
+                    : todos.descendingIterator(), pageSize);
+
+            Collections.reverse(page);
+            return page;
+        } finally {
+            PAGE_LATENCY.recordSince(start);
+        }
+    }
+
+    /**
+     * The returned collections are read-only views: they reflect later
+     * changes to this list and are never copied.
+     */
     public Collection<? extends Todo> getAllTodos() {
-        return todos;
+        return allTodosView;
     }
 
     public Collection<? extends Todo> getActiveTodos() {
-        final Predicate<Todo> isCompleted = Todo::isCompleted;
-        return todos.stream()
-                    .filter(isCompleted.negate())
-                    .collect(toCollection(() -> new TreeSet<>(BY_ID_THEN_NAME_THEN_DATE)));
+        return activeTodosView;
     }
 
     public Collection<? extends Todo> getCompletedTodos() {
-        return todos.stream()
-                    .filter(Todo::isCompleted)
-                    .collect(toCollection(() -> new TreeSet<>(BY_ID_THEN_NAME_THEN_DATE)));
+        return completedTodosView;
+    }
+
+    /**
+     * Counts the changes made to this list: anything computed from it stays
+     * valid as long as the version is the same.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public void addListener(TodoListener listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    public void removeListener(TodoListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void complete(Todo todo, LocalDateTime completedAt) {
+        if (!todo.isCompleted()) {
+            activeTodos.remove(todo);
+            completedTodos.add(todo);
+        }
+
+        completedAtIndex.remove(todo);
+        todo.setComplete(true);
+        todo.setCompletedAt(completedAt);
+        completedAtIndex.add(todo);
+
+        version++;
+        for (TodoListener listener : listeners) {
+            listener.todoCompleted(todo);
+        }
+    }
+
+    private void remove(Todo todo) {
+        todosById.remove(todo.getId());
+        partitionOf(todo).remove(todo);
+        todos.remove(todo);
+        nameIndex.remove(todo, todo.getName());
+        createdAtIndex.remove(todo);
+        completedAtIndex.remove(todo);
+
+        version++;
+        for (TodoListener listener : listeners) {
+            listener.todoRemoved(todo);
+        }
+    }
+
+    private void rename(Todo todo, String newName) {
+        nameIndex.remove(todo, todo.getName());
+        todo.setName(newName);
+        nameIndex.add(todo, newName);
+
+        version++;
+        for (TodoListener listener : listeners) {
+            listener.todoRenamed(todo);
+        }
+    }
+
+    // Collected first, so the changes don't disturb the iteration
+    private static List<Todo> matching(Collection<Todo> todos, Predicate<? super Todo> filter) {
+        final List<Todo> matches = new ArrayList<>();
+        for (Todo todo : todos) {
+            if (filter.test(todo)) {
+                matches.add(todo);
+            }
+        }
+        return matches;
+    }
+
+    private NavigableSet<Todo> todosOf(View view) {
+        switch (Objects.requireNonNull(view)) {
+            case ACTIVE:
+                return activeTodos;
+            case COMPLETED:
+                return completedTodos;
+            default:
+                return todos;
+        }
+    }
+
+    private static List<Todo> page(Iterator<Todo> iterator, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("The page size should be positive.");
+        }
+
+        final List<Todo> page = new ArrayList<>(pageSize);
+        while (page.size() < pageSize && iterator.hasNext()) {
+            page.add(iterator.next());
+        }
+        return page;
+    }
+
+    private Set<Todo> partitionOf(Todo todo) {
+        return todo.isCompleted() ? completedTodos : activeTodos;
+    }
+
+    private Todo findById(String todoId) {
+        return todoId != null ? todosById.get(todoId) : null;
     }
 
     @Override
@@ -132,4 +534,4 @@ public class TodoList {
         return todos.toString();
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,19 @@
+package io.github.elkamondo.models;
+
+/**
+ * Receives the changes made through a {@link TodoList}, right after they
+ * have been applied.
+ */
+public interface TodoListener {
+
+    default void todoAdded(Todo todo) {}
+
+    default void todoCompleted(Todo todo) {}
+
+    default void todoUnCompleted(Todo todo) {}
+
+    default void todoRenamed(Todo todo) {}
+
+    default void todoRemoved(Todo todo) {}
+
+}
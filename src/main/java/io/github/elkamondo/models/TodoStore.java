@@ -0,0 +1,218 @@
+package io.github.elkamondo.models;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LongSummaryStatistics;
+
+import static io.github.elkamondo.utils.DateTimeCodec.*;
+import static io.github.elkamondo.utils.PackedIds.*;
+
+/**
+ * A read-only, column oriented copy of a list of todos for bulk reports.
+ *
+ * <p>Every field is held in its own primitive array, indexed by the todo's
+ * position: packed ids, creation and completion times in epoch seconds, the
+ * completed states in a {@link BitSet} and the names one after the other in
+ * a shared {@code char} arena. Scans walk these arrays sequentially, with
+ * no object to dereference per todo, and loops like the counting ones are
+ * simple enough for the JIT to unroll and vectorise.
+ */
+public class TodoStore {
+
+    private final int size;
+
+    // Only one of the two id columns is allocated, the strings when some ids can't be packed
+    private final long[] ids;
+    private final String[] unpackedIds;
+    private final long[] createdAt;
+    private final long[] completedAt;
+    private final BitSet completed;
+
+    // The name of the todo at index i spans nameOffsets[i] to nameOffsets[i + 1] in the arena
+    private final char[] names;
+    private final int[] nameOffsets;
+    private final BitSet nullNames;
+
+    private TodoStore(Collection<? extends Todo> todos) {
+        size = todos.size();
+
+        createdAt = new long[size];
+        completedAt = new long[size];
+        completed = new BitSet(size);
+        nameOffsets = new int[size + 1];
+        nullNames = new BitSet();
+
+        long namesLength = 0;
+        boolean packable = true;
+        for (Todo todo : todos) {
+            namesLength += todo.getName() != null ? todo.getName().length() : 0;
+            packable &= isPackable(todo.getId());
+        }
+
+        if (namesLength > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The todo names don't fit in a single array.");
+        }
+
+        names = new char[(int) namesLength];
+        ids = packable ? new long[size] : null;
+        unpackedIds = packable ? null : new String[size];
+
+        int index = 0;
+        int nameOffset = 0;
+        for (Todo todo : todos) {
+            final String id = todo.getId();
+            if (packable) {
+                ids[index] = packId(id);
+            } else {
+                unpackedIds[index] = id;
+            }
+
+            createdAt[index] = todo.getCreatedAtEpochSecond();
+            completedAt[index] = todo.getCompletedAtEpochSecond();
+            completed.set(index, todo.isCompleted());
+
+            final String name = todo.getName();
+            if (name == null) {
+                nullNames.set(index);
+            } else {
+                name.getChars(0, name.length(), names, nameOffset);
+                nameOffset += name.length();
+            }
+            nameOffsets[++index] = nameOffset;
+        }
+    }
+
+    public static TodoStore from(Collection<? extends Todo> todos) {
+        return new TodoStore(todos);
+    }
+
+    public static TodoStore from(TodoList todoList) {
+        return new TodoStore(todoList.getAllTodos());
+    }
+
+    public TodoList toTodoList() {
+        final TodoList todoList = new TodoList();
+        for (int i = 0; i < size; i++) {
+            todoList.add(get(i));
+        }
+        return todoList;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public Todo get(int index) {
+        return new Todo(getId(index), getName(index), isCompleted(index),
+                getCreatedAt(index), fromEpochSecond(completedAt[checkIndex(index)]));
+    }
+
+    public String getId(int index) {
+        checkIndex(index);
+        return unpackedIds != null ? unpackedIds[index] : unpackId(ids[index]);
+    }
+
+    public String getName(int index) {
+        checkIndex(index);
+        if (nullNames.get(index)) {
+            return null;
+        }
+        return new String(names, nameOffsets[index], nameOffsets[index + 1] - nameOffsets[index]);
+    }
+
+    public boolean isCompleted(int index) {
+        return completed.get(checkIndex(index));
+    }
+
+    public LocalDateTime getCreatedAt(int index) {
+        return fromEpochSecond(createdAt[checkIndex(index)]);
+    }
+
+    public long getCreatedAtEpochSecond(int index) {
+        return createdAt[checkIndex(index)];
+    }
+
+    public long getCompletedAtEpochSecond(int index) {
+        return completedAt[checkIndex(index)];
+    }
+
+    public int countCompleted() {
+        return completed.cardinality();
+    }
+
+    public int countActive() {
+        return size - completed.cardinality();
+    }
+
+    /**
+     * @return the indexes of the completed todos, as a new set the caller may change
+     */
+    public BitSet completedTodos() {
+        return (BitSet) completed.clone();
+    }
+
+    /**
+     * @return the indexes of the active todos, as a new set the caller may change
+     */
+    public BitSet activeTodos() {
+        final BitSet active = (BitSet) completed.clone();
+        active.flip(0, size);
+        return active;
+    }
+
+    /**
+     * Counts the todos created in {@code [from, to)}, both in epoch seconds.
+     */
+    public int countCreatedBetween(long from, long to) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            final long time = createdAt[i];
+            // Branch-free, so the loop can be vectorised
+            count += (time >= from & time < to) ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * @return the indexes of the todos created in {@code [from, to)}, both in epoch seconds
+     */
+    public BitSet createdBetween(long from, long to) {
+        final BitSet matches = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            final long time = createdAt[i];
+            if (time >= from && time < to) {
+                matches.set(i);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Summarises the seconds elapsed between the creation and the completion
+     * of the completed todos whose times are both known.
+     */
+    public LongSummaryStatistics completionLatency() {
+        final LongSummaryStatistics statistics = new LongSummaryStatistics();
+        for (int i = completed.nextSetBit(0); i >= 0; i = completed.nextSetBit(i + 1)) {
+            final long created = createdAt[i];
+            final long done = completedAt[i];
+            if (created != NO_TIMESTAMP && done != NO_TIMESTAMP) {
+                statistics.accept(done - created);
+            }
+        }
+        return statistics;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("Index: %d, Size: %d", index, size));
+        }
+        return index;
+    }
+
+}
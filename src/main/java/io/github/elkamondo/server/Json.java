@@ -0,0 +1,194 @@
+package io.github.elkamondo.server;
+
+import io.github.elkamondo.models.Todo;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The little JSON the API needs: todos are written out and request bodies
+ * are flat objects whose values are strings.
+ */
+final class Json {
+
+    private Json() {}
+
+    static void appendTodo(StringBuilder json, Todo todo) {
+        json.append("{\"id\":");
+        appendString(json, todo.getId());
+        json.append(",\"name\":");
+        appendString(json, todo.getName());
+        json.append(",\"completed\":").append(todo.isCompleted());
+        json.append(",\"createdAt\":");
+        appendDateTime(json, todo.getCreatedAt());
+        json.append(",\"completedAt\":");
+        appendDateTime(json, todo.getCompletedAt());
+        json.append('}');
+    }
+
+    // ISO 8601, as JSON clients expect, rather than the format of the CSV files
+    private static void appendDateTime(StringBuilder json, LocalDateTime dateTime) {
+        if (dateTime == null) {
+            json.append("null");
+        } else {
+            json.append('"');
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(dateTime, json);
+            json.append('"');
+        }
+    }
+
+    static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append("\\u00").append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+
+    /**
+     * Parses an object like {@code {"name": "Pay the bills"}}.
+     *
+     * @throws IllegalArgumentException if the text isn't such an object
+     */
+    static Map<String, String> parseObject(String text) {
+        final Parser parser = new Parser(text);
+        final Map<String, String> object = new HashMap<>();
+
+        parser.expect('{');
+        if (!parser.consume('}')) {
+            do {
+                final String key = parser.string();
+                parser.expect(':');
+                object.put(key, parser.consume("null") ? null : parser.string());
+            } while (parser.consume(','));
+            parser.expect('}');
+        }
+
+        parser.skipWhitespace();
+        if (!parser.atEnd()) {
+            throw new IllegalArgumentException("Unexpected content after the JSON object.");
+        }
+        return object;
+    }
+
+    private static class Parser {
+
+        private final String text;
+        private int position;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        boolean atEnd() {
+            return position >= text.length();
+        }
+
+        void skipWhitespace() {
+            while (!atEnd() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        boolean consume(char c) {
+            skipWhitespace();
+            if (!atEnd() && text.charAt(position) == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        boolean consume(String literal) {
+            skipWhitespace();
+            if (text.startsWith(literal, position)) {
+                position += literal.length();
+                return true;
+            }
+            return false;
+        }
+
+        void expect(char c) {
+            if (!consume(c)) {
+                throw new IllegalArgumentException(String.format("Expected '%c' at position %d.", c, position));
+            }
+        }
+
+        String string() {
+            expect('"');
+            final StringBuilder value = new StringBuilder();
+            while (true) {
+                if (atEnd()) {
+                    throw new IllegalArgumentException("Unterminated JSON string.");
+                }
+
+                final char c = text.charAt(position++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+
+                if (atEnd()) {
+                    throw new IllegalArgumentException("Unterminated JSON string.");
+                }
+                final char escaped = text.charAt(position++);
+                switch (escaped) {
+                    case 'b': value.append('\b'); break;
+                    case 'f': value.append('\f'); break;
+                    case 'n': value.append('\n'); break;
+                    case 'r': value.append('\r'); break;
+                    case 't': value.append('\t'); break;
+                    case 'u':
+                        if (position + 4 > text.length()) {
+                            throw new IllegalArgumentException("Truncated unicode escape.");
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw new IllegalArgumentException("Invalid unicode escape.");
+                        }
+                        position += 4;
+                        break;
+                    default:
+                        // '"', '\\' and '/' stand for themselves
+                        value.append(escaped);
+                }
+            }
+        }
+
+    }
+
+}
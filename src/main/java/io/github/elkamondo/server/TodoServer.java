@@ -0,0 +1,422 @@
+package io.github.elkamondo.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.elkamondo.models.Todo;
+import io.github.elkamondo.models.TodoList;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A small JSON API in front of a {@link TodoList}, served by the JDK's
+ * built-in HTTP server:
+ *
+ * <pre>
+ * GET    /todos?view=all|active|completed&amp;after=&lt;id&gt;&amp;limit=&lt;n&gt;
+ * POST   /todos                    {"name": "..."}
+ * GET    /todos/&lt;id&gt;
+ * PUT    /todos/&lt;id&gt;               {"name": "..."}
+ * DELETE /todos/&lt;id&gt;
+ * POST   /todos/&lt;id&gt;/complete
+ * POST   /todos/&lt;id&gt;/uncomplete
+ * </pre>
+ *
+ * <p>Each request runs on its own virtual thread when the JDK has them
+ * (21 and later), on a bounded pool otherwise. Every response has an exact
+ * {@code Content-Length} and request bodies are always read to the end,
+ * so connections are kept alive and pipelined requests are answered in
+ * order. At most {@code maxConcurrentRequests} requests are handled at
+ * once; the others are answered right away with a 503.
+ *
+ * <p>The list isn't thread-safe, so the server guards it with a read-write
+ * lock: listeners such as the journal are only called by one request at a
+ * time. A request changing the todos runs {@code afterWrite} before the lock
+ * is released and its response is sent, so a journal can be synced there.
+ */
+public class TodoServer implements Closeable {
+
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 256;
+
+    private static final String CONTEXT = "/todos";
+    private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+    private static final int MAX_BODY_SIZE = 64 * 1024;
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final TodoList todos;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final Runnable afterWrite;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private TodoServer(TodoList todos, HttpServer server, ExecutorService executor,
+                       int maxConcurrentRequests, Runnable afterWrite) {
+        this.todos = todos;
+        this.server = server;
+        this.executor = executor;
+        this.permits = new Semaphore(maxConcurrentRequests);
+        this.afterWrite = afterWrite;
+    }
+
+    /**
+     * Starts serving {@code todos} on {@code address}; a port of 0 picks a
+     * free one, see {@link #getAddress()}.
+     */
+    public static TodoServer start(InetSocketAddress address, TodoList todos, int maxConcurrentRequests) throws IOException {
+        return start(address, todos, maxConcurrentRequests, () -> {});
+    }
+
+    /**
+     * Starts serving {@code todos} on {@code address}, running
+     * {@code afterWrite} after every request that may have changed them.
+     */
+    public static TodoServer start(InetSocketAddress address, TodoList todos, int maxConcurrentRequests,
+                                   Runnable afterWrite) throws IOException {
+        if (maxConcurrentRequests <= 0) {
+            throw new IllegalArgumentException("The maximum of concurrent requests should be positive.");
+        }
+
+        // The server writes the headers and the body of a response separately: with
+        // Nagle's algorithm, each response of a keep-alive connection would wait
+        // for the client's delayed ACK. It is read once, when the first server starts.
+        if (System.getProperty(NO_DELAY_PROPERTY) == null) {
+            System.setProperty(NO_DELAY_PROPERTY, "true");
+        }
+
+        // Connections waiting to be accepted are bounded too
+        final HttpServer server = HttpServer.create(address, maxConcurrentRequests);
+        final ExecutorService executor = newExecutor(maxConcurrentRequests);
+        final TodoServer todoServer = new TodoServer(todos, server, executor, maxConcurrentRequests, afterWrite);
+
+        server.createContext(CONTEXT, todoServer::handle);
+        server.setExecutor(executor);
+        server.start();
+        return todoServer;
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Stops accepting connections, lets the requests being handled finish
+     * and stops the server.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!permits.tryAcquire()) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                send(exchange, Response.error(503, "The server is busy, try again later."));
+                return;
+            }
+
+            Response response;
+            try {
+                response = route(exchange);
+            } catch (IllegalArgumentException e) {
+                response = Response.error(400, e.getMessage());
+            } finally {
+                permits.release();
+            }
+            send(exchange, response);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Response route(HttpExchange exchange) throws IOException {
+        final String method = exchange.getRequestMethod();
+        final String path = exchange.getRequestURI().getPath();
+
+        final String rest = path.substring(CONTEXT.length());
+        if (rest.isEmpty() || rest.equals("/")) {
+            return collection(exchange, method);
+        }
+
+        // The context also matches paths such as "/todosX"
+        final String[] segments = rest.split("/", -1);
+        if (!segments[0].isEmpty() || segments.length > 3 || segments[1].isEmpty()) {
+            return Response.error(404, "Not found.");
+        }
+
+        final String todoId = segments[1];
+        if (segments.length == 2) {
+            switch (method) {
+                case "GET":
+                    return read(() -> todo(todoId));
+                case "PUT": {
+                    final String name = readName(exchange);
+                    return write(() -> todos.renameTodo(todoId, name) ? todo(todoId) : notFound(todoId));
+                }
+                case "DELETE":
+                    return write(() -> todos.removeTodo(todoId) ? Response.NO_CONTENT : notFound(todoId));
+                default:
+                    return notAllowed(exchange, "GET, PUT, DELETE");
+            }
+        }
+
+        final String action = segments[2];
+        if (!action.equals("complete") && !action.equals("uncomplete")) {
+            return Response.error(404, "Not found.");
+        }
+        if (!method.equals("POST")) {
+            return notAllowed(exchange, "POST");
+        }
+
+        return write(() -> {
+            final boolean changed = action.equals("complete")
+                    ? todos.completeTodo(todoId)
+                    : todos.unCompleteTodo(todoId);
+            return changed ? todo(todoId) : notFound(todoId);
+        });
+    }
+
+    private Response collection(HttpExchange exchange, String method) throws IOException {
+        switch (method) {
+            case "GET":
+                return list(exchange.getRequestURI().getRawQuery());
+            case "POST": {
+                final String name = readName(exchange);
+                return write(() -> {
+                    final Todo todo = todos.create(name);
+                    exchange.getResponseHeaders().set("Location", CONTEXT + "/" + todo.getId());
+                    return Response.todo(201, todo);
+                });
+            }
+            default:
+                return notAllowed(exchange, "GET, POST");
+        }
+    }
+
+    private Response list(String rawQuery) {
+        final Map<String, String> parameters = parseQuery(rawQuery);
+
+        final TodoList.View view = parseView(parameters.getOrDefault("view", "all"));
+        final String after = parameters.get("after");
+        final int limit = parseLimit(parameters.get("limit"));
+
+        // The todos are ordered by id only, so any id makes a cursor
+        final Todo cursor = after != null ? new Todo(after, null, false, null) : null;
+
+        return read(() -> {
+            // One more todo tells whether there is a next page
+            final List<Todo> page = todos.getPageAfter(view, cursor, limit + 1);
+            final int size = Math.min(limit, page.size());
+
+            final StringBuilder json = new StringBuilder(64 + size * 128);
+            json.append("{\"todos\":[");
+            for (int i = 0; i < size; i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                Json.appendTodo(json, page.get(i));
+            }
+            json.append("],\"next\":");
+            Json.appendString(json, page.size() > limit ? page.get(size - 1).getId() : null);
+            json.append('}');
+            return new Response(200, json.toString());
+        });
+    }
+
+    private static TodoList.View parseView(String view) {
+        try {
+            return TodoList.View.valueOf(view.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("Unknown view '%s'.", view));
+        }
+    }
+
+    private static int parseLimit(String limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+
+        final int value;
+        try {
+            value = Integer.parseInt(limit);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("The limit should be a number.");
+        }
+        if (value <= 0) {
+            throw new IllegalArgumentException("The limit should be positive.");
+        }
+        return Math.min(value, MAX_PAGE_SIZE);
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        final Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return parameters;
+        }
+
+        for (String parameter : rawQuery.split("&")) {
+            final int equals = parameter.indexOf('=');
+            if (equals > 0) {
+                parameters.put(URLDecoder.decode(parameter.substring(0, equals), UTF_8),
+                        URLDecoder.decode(parameter.substring(equals + 1), UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    private static String readName(HttpExchange exchange) throws IOException {
+        final String name = Json.parseObject(readBody(exchange)).get("name");
+        if (name == null) {
+            throw new IllegalArgumentException("The todo's name is missing.");
+        }
+        return name;
+    }
+
+    /**
+     * Reads the whole body, so the next request of the connection can be
+     * read. A larger body than allowed is rejected before being read.
+     */
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            final byte[] body = in.readNBytes(MAX_BODY_SIZE + 1);
+            if (body.length > MAX_BODY_SIZE) {
+                throw new IllegalArgumentException(String.format("The body should not exceed %d bytes.", MAX_BODY_SIZE));
+            }
+            return new String(body, UTF_8);
+        }
+    }
+
+    private Response todo(String todoId) {
+        return todos.getTodo(todoId).map(todo -> Response.todo(200, todo)).orElseGet(() -> notFound(todoId));
+    }
+
+    private static Response notFound(String todoId) {
+        return Response.error(404, String.format("There is no todo associated with the id '%s'.", todoId));
+    }
+
+    private static Response notAllowed(HttpExchange exchange, String allowedMethods) {
+        exchange.getResponseHeaders().set("Allow", allowedMethods);
+        return Response.error(405, "Method not allowed.");
+    }
+
+    // The responses are rendered while the lock is held, the todos being mutable
+    private Response read(Supplier<Response> action) {
+        return locked(lock.readLock(), action);
+    }
+
+    private Response write(Supplier<Response> action) {
+        return locked(lock.writeLock(), () -> {
+            try {
+                return action.get();
+            } finally {
+                afterWrite.run();
+            }
+        });
+    }
+
+    private static Response locked(Lock lock, Supplier<Response> action) {
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        // Closing the body skips what is left of it, so the connection can be reused
+        exchange.getRequestBody().close();
+
+        if (response.body == null) {
+            exchange.sendResponseHeaders(response.status, -1);
+            return;
+        }
+
+        final byte[] body = response.body.getBytes(UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(response.status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Runs each request on a new virtual thread when the JDK has them. This
+     * is looked up at runtime, so the project still builds with JDK 17.
+     */
+    private static ExecutorService newExecutor(int maxConcurrentRequests) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            final int threads = Math.min(maxConcurrentRequests, 4 * Runtime.getRuntime().availableProcessors());
+            final ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES,
+                    new ArrayBlockingQueue<>(maxConcurrentRequests), runnable -> {
+                        final Thread thread = new Thread(runnable, "todo-server-worker");
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    // A full queue slows the dispatcher down instead of dropping connections
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
+    }
+
+    private static class Response {
+
+        static final Response NO_CONTENT = new Response(204, null);
+
+        final int status;
+        final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        static Response todo(int status, Todo todo) {
+            final StringBuilder json = new StringBuilder(128);
+            Json.appendTodo(json, todo);
+            return new Response(status, json.toString());
+        }
+
+        static Response error(int status, String message) {
+            final StringBuilder json = new StringBuilder(64);
+            json.append("{\"error\":");
+            Json.appendString(json, message);
+            json.append('}');
+            return new Response(status, json.toString());
+        }
+
+    }
+
+}
@@ -0,0 +1,130 @@
+package io.github.elkamondo.utils;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Replaces files as a whole: the content is written to a temporary file in
+ * the same directory, synced to disk, then renamed over the target. Readers
+ * see either the previous content or the new one, never a truncated file.
+ *
+ * <p>The new file keeps the POSIX permissions of the file it replaces; a
+ * new target gets the default permissions of the process, as if it were
+ * created directly.
+ */
+public class AtomicFiles {
+
+    private AtomicFiles() {}
+
+    @FunctionalInterface
+    public interface ChannelWriter {
+        void write(FileChannel channel) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface StreamWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    public static void writeChannel(Path target, ChannelWriter writer) throws IOException {
+        final Path absoluteTarget = target.toAbsolutePath();
+        final Path directory = absoluteTarget.getParent();
+        Path temporary = null;
+        try {
+            // Unlike Files.createTempFile, which restricts the file to its owner, the umask applies
+            FileChannel channel = null;
+            while (channel == null) {
+                temporary = directory.resolve(String.format(".%s.%016x.tmp",
+                        absoluteTarget.getFileName(), ThreadLocalRandom.current().nextLong()));
+                try {
+                    channel = FileChannel.open(temporary, CREATE_NEW, WRITE);
+                } catch (FileAlreadyExistsException e) {
+                    temporary = null;
+                }
+            }
+
+            try (FileChannel out = channel) {
+                copyPermissions(absoluteTarget, temporary);
+                writer.write(out);
+                out.force(true);
+            }
+
+            try {
+                Files.move(temporary, absoluteTarget, ATOMIC_MOVE, REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, absoluteTarget, REPLACE_EXISTING);
+            }
+
+            syncDirectory(directory);
+        } finally {
+            if (temporary != null) {
+                Files.deleteIfExists(temporary);
+            }
+        }
+    }
+
+    /**
+     * Same as {@link #writeChannel(Path, ChannelWriter)} through a stream. Closing
+     * the stream only flushes it, the file is closed once it is synced.
+     */
+    public static void writeStream(Path target, StreamWriter writer) throws IOException {
+        writeChannel(target, channel -> {
+            try (OutputStream out = new UnclosableOutputStream(Channels.newOutputStream(channel))) {
+                writer.write(out);
+            }
+        });
+    }
+
+    private static void copyPermissions(Path source, Path target) throws IOException {
+        final PosixFileAttributeView sourceView = Files.getFileAttributeView(source, PosixFileAttributeView.class);
+        if (sourceView == null || Files.notExists(source)) {
+            return;
+        }
+
+        Files.getFileAttributeView(target, PosixFileAttributeView.class)
+                .setPermissions(sourceView.readAttributes().permissions());
+    }
+
+    // Makes the rename itself durable, which isn't supported on every platform
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // The file content is already on disk
+        }
+    }
+
+    private static class UnclosableOutputStream extends FilterOutputStream {
+
+        UnclosableOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+
+    }
+
+}
@@ -0,0 +1,136 @@
+package io.github.elkamondo.utils;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static io.github.elkamondo.utils.Constants.DEFAULT_DATETIME_FORMATTER;
+
+/**
+ * Formats and parses timestamps in the {@code dd/MM/yyyy HH:mm:ss} pattern of
+ * {@link Constants#DEFAULT_DATETIME_FORMATTER} without going through the
+ * {@code DateTimeFormatter} machinery. Values the fixed layout can't
+ * represent (years outside 1..9999, lenient input) are delegated to the
+ * formatter, so the results are always the same as the formatter's.
+ */
+public class DateTimeCodec {
+
+    private static final int LENGTH = 19;
+
+    /**
+     * Stands for a missing timestamp where timestamps are stored as epoch seconds.
+     */
+    public static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private DateTimeCodec() {}
+
+    /**
+     * Converts the timestamp to seconds since the epoch in UTC, dropping the
+     * nanoseconds. {@code null} is converted to {@link #NO_TIMESTAMP}.
+     */
+    public static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toEpochSecond(ZoneOffset.UTC) : NO_TIMESTAMP;
+    }
+
+    public static LocalDateTime fromEpochSecond(long epochSecond) {
+        return epochSecond != NO_TIMESTAMP ? LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC) : null;
+    }
+
+    public static String format(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return null;
+        }
+
+        final StringBuilder builder = new StringBuilder(LENGTH);
+        appendTo(dateTime, builder);
+        return builder.toString();
+    }
+
+    public static void appendTo(LocalDateTime dateTime, StringBuilder builder) {
+        final int year = dateTime.getYear();
+        if (year < 1 || year > 9999) {
+            DEFAULT_DATETIME_FORMATTER.formatTo(dateTime, builder);
+            return;
+        }
+
+        appendTwoDigits(builder, dateTime.getDayOfMonth());
+        builder.append('/');
+        appendTwoDigits(builder, dateTime.getMonthValue());
+        builder.append('/');
+        appendTwoDigits(builder, year / 100);
+        appendTwoDigits(builder, year % 100);
+        builder.append(' ');
+        appendTwoDigits(builder, dateTime.getHour());
+        builder.append(':');
+        appendTwoDigits(builder, dateTime.getMinute());
+        builder.append(':');
+        appendTwoDigits(builder, dateTime.getSecond());
+    }
+
+    public static void appendTo(LocalDateTime dateTime, Appendable out) throws IOException {
+        if (out instanceof StringBuilder) {
+            appendTo(dateTime, (StringBuilder) out);
+            return;
+        }
+
+        final StringBuilder builder = new StringBuilder(LENGTH);
+        appendTo(dateTime, builder);
+        out.append(builder);
+    }
+
+    public static LocalDateTime parse(CharSequence text) {
+        return parse(text, 0, text.length());
+    }
+
+    /**
+     * Parses the timestamp held in {@code text} between {@code start}
+     * (inclusive) and {@code end} (exclusive).
+     *
+     * @throws java.time.format.DateTimeParseException if the text is not a valid timestamp
+     */
+    public static LocalDateTime parse(CharSequence text, int start, int end) {
+        if (end - start == LENGTH
+                && text.charAt(start + 2) == '/' && text.charAt(start + 5) == '/'
+                && text.charAt(start + 10) == ' '
+                && text.charAt(start + 13) == ':' && text.charAt(start + 16) == ':') {
+            final int day = twoDigits(text, start);
+            final int month = twoDigits(text, start + 3);
+            final int century = twoDigits(text, start + 6);
+            final int yearOfCentury = twoDigits(text, start + 8);
+            final int hour = twoDigits(text, start + 11);
+            final int minute = twoDigits(text, start + 14);
+            final int second = twoDigits(text, start + 17);
+
+            if ((day | month | century | yearOfCentury | hour | minute | second) >= 0) {
+                final int year = century * 100 + yearOfCentury;
+                if (year > 0) {
+                    try {
+                        return LocalDateTime.of(year, month, day, hour, minute, second);
+                    } catch (DateTimeException e) {
+                        // Let the formatter resolve or reject the value
+                    }
+                }
+            }
+        }
+
+        return LocalDateTime.parse(text.subSequence(start, end), DEFAULT_DATETIME_FORMATTER);
+    }
+
+    private static void appendTwoDigits(StringBuilder builder, int value) {
+        builder.append((char) ('0' + value / 10))
+               .append((char) ('0' + value % 10));
+    }
+
+    // Returns a negative value when the two characters are not both digits
+    private static int twoDigits(CharSequence text, int index) {
+        final int tens = text.charAt(index) - '0';
+        final int units = text.charAt(index + 1) - '0';
+        if (tens < 0 || tens > 9 || units < 0 || units > 9) {
+            return -1;
+        }
+
+        return tens * 10 + units;
+    }
+
+}
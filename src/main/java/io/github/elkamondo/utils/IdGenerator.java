@@ -0,0 +1,13 @@
+package io.github.elkamondo.utils;
+
+/**
+ * Produces the ids of new todos. Implementations don't have to guarantee
+ * uniqueness: the owning list checks every id and asks for another one on
+ * a collision.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    String nextId();
+
+}
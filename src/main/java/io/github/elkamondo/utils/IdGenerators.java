@@ -0,0 +1,118 @@
+package io.github.elkamondo.utils;
+
+import java.time.Clock;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The built-in {@link IdGenerator}s. Every id is encoded straight into a
+ * {@code char[]}, without going through a formatter or a regex.
+ */
+public class IdGenerators {
+
+    private IdGenerators() {}
+
+    public static final int DEFAULT_LENGTH = 8;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    // In ASCII order, so time-ordered ids sort like the values they encode
+    private static final char[] BASE62_DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+
+    private static final int TIME_ORDERED_LENGTH = 8;
+    private static final long TIME_ORDERED_LIMIT = 218_340_105_584_896L; // 62^8
+    private static final long TIME_ORDERED_EPOCH = 1_577_836_800_000L;   // 2020-01-01T00:00:00Z
+    private static final int IDS_PER_MILLISECOND = 64;
+
+    /**
+     * Random lowercase hex ids of 1 to 16 digits, drawn from {@link ThreadLocalRandom}.
+     */
+    public static IdGenerator random(int length) {
+        checkLength(length);
+        return () -> randomHex(length);
+    }
+
+    /**
+     * Zero-padded hex ids counting up from {@code start}. Ids loaded from a
+     * file may already use some values, the owning list skips them.
+     */
+    public static IdGenerator sequence(long start, int length) {
+        checkLength(length);
+        if (start < 0) {
+            throw new IllegalArgumentException("The sequence should start at a positive value.");
+        }
+
+        final AtomicLong next = new AtomicLong(start);
+        return () -> {
+            final long value = next.getAndIncrement();
+            if (length < 16 && value >>> (4 * length) != 0) {
+                throw new IllegalStateException(String.format("The sequence has no %d-digit ids left.", length));
+            }
+            return hex(value, length);
+        };
+    }
+
+    /**
+     * 8-character ids that sort in creation order: the milliseconds elapsed
+     * since 2020 followed by a counter, encoded in base 62. Up to 64 ids are
+     * generated per millisecond before borrowing from the next one, and ids
+     * keep increasing if the clock goes backwards.
+     */
+    public static IdGenerator timeOrdered(Clock clock) {
+        final AtomicLong last = new AtomicLong(-1);
+        return () -> {
+            final long now = (clock.millis() - TIME_ORDERED_EPOCH) * IDS_PER_MILLISECOND;
+            final long value = last.updateAndGet(previous -> Math.max(previous + 1, now));
+            if (value < 0 || value >= TIME_ORDERED_LIMIT) {
+                throw new IllegalStateException("The clock is out of the range of time-ordered ids.");
+            }
+            return base62(value, TIME_ORDERED_LENGTH);
+        };
+    }
+
+    public static IdGenerator timeOrdered() {
+        return timeOrdered(Clock.systemUTC());
+    }
+
+    public static String randomHex(int length) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final char[] chars = new char[length];
+
+        long bits = 0;
+        for (int i = 0; i < length; i++) {
+            // A long holds 16 hex digits
+            if ((i & 15) == 0) {
+                bits = random.nextLong();
+            }
+            chars[i] = HEX_DIGITS[(int) (bits & 0xF)];
+            bits >>>= 4;
+        }
+
+        return new String(chars);
+    }
+
+    private static String hex(long value, int length) {
+        final char[] chars = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            chars[i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        return new String(chars);
+    }
+
+    private static String base62(long value, int length) {
+        final char[] chars = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            chars[i] = BASE62_DIGITS[(int) (value % 62)];
+            value /= 62;
+        }
+        return new String(chars);
+    }
+
+    private static void checkLength(int length) {
+        if (length <= 0 || length > 16) {
+            throw new IllegalArgumentException("The id length should be between 1 and 16.");
+        }
+    }
+
+}
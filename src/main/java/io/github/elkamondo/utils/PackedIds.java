@@ -0,0 +1,53 @@
+package io.github.elkamondo.utils;
+
+/**
+ * Stores ids of up to 8 ASCII characters in a {@code long}, one byte per
+ * character, left aligned and padded with zeros.
+ */
+public class PackedIds {
+
+    private PackedIds() {}
+
+    public static boolean isPackable(String id) {
+        if (id == null || id.length() > 8) {
+            return false;
+        }
+
+        for (int i = 0; i < id.length(); i++) {
+            final char c = id.charAt(i);
+            if (c == 0 || c > 0x7F) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Packs the id characters left aligned, so comparing two packed ids as
+     * unsigned values gives the same order as comparing the strings.
+     */
+    public static long packId(String id) {
+        long packed = 0;
+        for (int i = 0; i < 8; i++) {
+            packed = (packed << 8) | (i < id.length() ? id.charAt(i) : 0);
+        }
+
+        return packed;
+    }
+
+    public static String unpackId(long packed) {
+        final char[] chars = new char[8];
+        int length = 0;
+        while (length < 8) {
+            final char c = (char) ((packed >>> (56 - 8 * length)) & 0xFF);
+            if (c == 0) {
+                break;
+            }
+            chars[length++] = c;
+        }
+
+        return new String(chars, 0, length);
+    }
+
+}
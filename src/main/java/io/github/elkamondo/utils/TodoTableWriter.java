@@ -0,0 +1,116 @@
+package io.github.elkamondo.utils;
+
+import io.github.elkamondo.models.Todo;
+
+import java.io.PrintWriter;
+
+/**
+ * Renders todos as the rows of a text table. Every row is laid out in one
+ * reused buffer and written to the {@code PrintWriter} in a single call,
+ * without going through {@code String.format}; the caller decides when to
+ * flush.
+ */
+public class TodoTableWriter {
+
+    private static final String BORDER = "+----------+--------------------------------+-----------+---------------------+---------------------+";
+
+    private static final int ID_WIDTH = 8;
+    private static final int NAME_WIDTH = 30;
+    private static final int COMPLETED_WIDTH = 9;
+    private static final int DATE_WIDTH = 19;
+
+    private final PrintWriter out;
+
+    private final StringBuilder row = new StringBuilder(BORDER.length() * 2);
+    private char[] chars = new char[BORDER.length() * 2];
+
+    public TodoTableWriter(PrintWriter out) {
+        this.out = out;
+    }
+
+    public void writeHeader() {
+        out.println(BORDER);
+
+        row.setLength(0);
+        cell("id", ID_WIDTH);
+        cell("name", NAME_WIDTH);
+        cell("completed", COMPLETED_WIDTH);
+        cell("createdAt", DATE_WIDTH);
+        cell("completedAt", DATE_WIDTH);
+        writeRow();
+
+        out.println(BORDER);
+    }
+
+    public void writeRow(Todo todo) {
+        row.setLength(0);
+        cell(todo.getId(), ID_WIDTH);
+        truncatedCell(todo.getName(), NAME_WIDTH);
+        cell(todo.isCompleted() ? "✅" : "❌", COMPLETED_WIDTH);
+        dateCell(todo.getCreatedAtEpochSecond());
+        dateCell(todo.getCompletedAtEpochSecond());
+        writeRow();
+    }
+
+    public void writeFooter() {
+        out.println(BORDER);
+    }
+
+    public void writeTable(Iterable<? extends Todo> todos) {
+        writeHeader();
+        for (Todo todo : todos) {
+            writeRow(todo);
+        }
+        writeFooter();
+    }
+
+    public void flush() {
+        out.flush();
+    }
+
+    private void cell(String value, int width) {
+        row.append(row.length() == 0 ? "| " : " | ").append(value);
+        pad(String.valueOf(value).length(), width);
+    }
+
+    private void truncatedCell(String value, int width) {
+        if (value == null || value.length() <= width) {
+            cell(value, width);
+            return;
+        }
+
+        row.append(" | ").append(value, 0, width - 3).append("...");
+    }
+
+    private void dateCell(long epochSecond) {
+        row.append(" | ");
+        if (epochSecond == DateTimeCodec.NO_TIMESTAMP) {
+            row.append("null");
+            pad(4, DATE_WIDTH);
+            return;
+        }
+
+        final int start = row.length();
+        DateTimeCodec.appendTo(DateTimeCodec.fromEpochSecond(epochSecond), row);
+        pad(row.length() - start, DATE_WIDTH);
+    }
+
+    private void pad(int length, int width) {
+        for (int i = length; i < width; i++) {
+            row.append(' ');
+        }
+    }
+
+    private void writeRow() {
+        row.append(" |");
+
+        if (chars.length < row.length()) {
+            chars = new char[row.length()];
+        }
+        row.getChars(0, row.length(), chars, 0);
+
+        out.write(chars, 0, row.length());
+        out.println();
+    }
+
+}
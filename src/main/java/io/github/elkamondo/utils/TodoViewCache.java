@@ -0,0 +1,169 @@
+package io.github.elkamondo.utils;
+
+import io.github.elkamondo.models.Todo;
+import io.github.elkamondo.models.TodoList;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the pages and search results of a {@link TodoList}, with their
+ * rendered tables, until the list changes.
+ *
+ * <p>Results are valid for one {@linkplain TodoList#getVersion() version}
+ * of the list: the first lookup after a change drops them all. The cache
+ * holds at most {@code maxTodos} todos across its results, an empty result
+ * counting as one, and evicts the least recently used results first; a
+ * larger result isn't cached. Like the list, the cache isn't thread-safe.
+ */
+public class TodoViewCache {
+
+    /**
+     * The todos of a query and their table, rendered on first use.
+     */
+    public final class Result {
+
+        private final List<Todo> todos;
+        private String table;
+
+        private Result(List<Todo> todos) {
+            // Shared by every lookup, so it can't be changed
+            this.todos = Collections.unmodifiableList(todos);
+        }
+
+        public List<Todo> getTodos() {
+            return todos;
+        }
+
+        public String getTable() {
+            if (table == null) {
+                table = render(todos);
+            }
+            return table;
+        }
+
+    }
+
+    private final TodoList todos;
+    private final int maxTodos;
+
+    private final Map<List<Object>, Result> results = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedTodos;
+    private long version;
+
+    private final StringWriter buffer = new StringWriter();
+    private final TodoTableWriter tableWriter = new TodoTableWriter(new PrintWriter(buffer));
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public TodoViewCache(TodoList todos, int maxTodos) {
+        if (maxTodos <= 0) {
+            throw new IllegalArgumentException("The maximum of cached todos should be positive.");
+        }
+
+        this.todos = todos;
+        this.maxTodos = maxTodos;
+        this.version = todos.getVersion();
+    }
+
+    public Result getPageAfter(TodoList.View view, Todo cursor, int pageSize) {
+        return get(Arrays.asList("after", view, cursor != null ? cursor.getId() : null, pageSize),
+                () -> todos.getPageAfter(view, cursor, pageSize));
+    }
+
+    public Result getPageBefore(TodoList.View view, Todo cursor, int pageSize) {
+        return get(Arrays.asList("before", view, cursor != null ? cursor.getId() : null, pageSize),
+                () -> todos.getPageBefore(view, cursor, pageSize));
+    }
+
+    public Result search(String query) {
+        return get(Arrays.asList("search", query), () -> todos.search(query));
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return how many times the results were dropped because the list changed
+     */
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    public int size() {
+        return results.size();
+    }
+
+    private Result get(List<Object> key, Supplier<List<Todo>> query) {
+        if (version != todos.getVersion()) {
+            if (!results.isEmpty()) {
+                invalidations++;
+                results.clear();
+                cachedTodos = 0;
+            }
+            version = todos.getVersion();
+        }
+
+        Result result = results.get(key);
+        if (result != null) {
+            hits++;
+            return result;
+        }
+
+        misses++;
+        result = new Result(query.get());
+        if (weightOf(result) <= maxTodos) {
+            results.put(key, result);
+            cachedTodos += weightOf(result);
+            evict();
+        }
+        return result;
+    }
+
+    private void evict() {
+        final Iterator<Result> eldest = results.values().iterator();
+        while (cachedTodos > maxTodos && eldest.hasNext()) {
+            cachedTodos -= weightOf(eldest.next());
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    private static int weightOf(Result result) {
+        return Math.max(1, result.todos.size());
+    }
+
+    private String render(List<Todo> todos) {
+        buffer.getBuffer().setLength(0);
+        tableWriter.writeTable(todos);
+        tableWriter.flush();
+        return buffer.toString();
+    }
+
+    @Override
+    public String toString() {
+        final long lookups = hits + misses;
+        return String.format("%d hits, %d misses (%.1f%% hit rate), %d results cached, %d evictions, %d invalidations.",
+                hits, misses, lookups > 0 ? 100.0 * hits / lookups : 0.0, results.size(), evictions, invalidations);
+    }
+
+}
@@ -0,0 +1,442 @@
+package io.github.elkamondo.utils.journal;
+
+import io.github.elkamondo.models.Todo;
+import io.github.elkamondo.models.TodoList;
+import io.github.elkamondo.models.TodoListener;
+import io.github.elkamondo.utils.reports.TodoReporter;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import static io.github.elkamondo.utils.DateTimeCodec.fromEpochSecond;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * An append-only log of the changes made to a {@link TodoList} since its
+ * last snapshot.
+ *
+ * <p>Every change is written as a small record {@code length | CRC32 | payload}
+ * and the file is synced to disk once every {@code syncBatchSize} records or
+ * when {@link #sync()} is called. A record cut short by a crash fails its
+ * checksum and is dropped, with everything after it, when the journal is
+ * opened again.
+ *
+ * <p>{@link #compact} rotates the journal and writes a new snapshot in the
+ * background; the rotated segments are deleted once the snapshot is safely
+ * on disk. Replaying a segment over a snapshot that already contains it
+ * leaves the list unchanged, so a crash in between loses nothing.
+ *
+ * <p>Changes are recorded once applied to the list, so a record that can't
+ * be written doesn't undo them: the journal stops recording, {@link #sync()}
+ * reports the failure, and the next {@link #compact} snapshots the list to
+ * start over with a new journal.
+ */
+public class TodoJournal implements TodoListener, Closeable {
+
+    private static final byte ADDED = 1;
+    private static final byte COMPLETED = 2;
+    private static final byte UNCOMPLETED = 3;
+    private static final byte RENAMED = 4;
+    private static final byte REMOVED = 5;
+
+    private static final int NULL_NAME = -1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path path;
+    private final TodoList todos;
+    private final int syncBatchSize;
+    private final long replayedRecords;
+
+    private final RecordBuffer record = new RecordBuffer();
+    private final DataOutputStream payload = new DataOutputStream(record);
+    private final CRC32 crc = new CRC32();
+
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "todo-journal-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Future<?> compaction;
+
+    private FileChannel channel;
+    private DataOutputStream out;
+    private int unsyncedRecords;
+    private IOException failure;
+
+    private TodoJournal(Path path, TodoList todos, int syncBatchSize, long replayedRecords) throws IOException {
+        this.path = path;
+        this.todos = todos;
+        this.syncBatchSize = syncBatchSize;
+        this.replayedRecords = replayedRecords;
+        openChannel();
+    }
+
+    /**
+     * Replays the journal at {@code path}, with any segment left by an
+     * unfinished compaction, over {@code todos} and starts recording the
+     * changes made to them.
+     */
+    public static TodoJournal open(Path path, TodoList todos, int syncBatchSize) throws IOException {
+        if (syncBatchSize <= 0) {
+            throw new IllegalArgumentException("The sync batch size should be positive.");
+        }
+
+        long replayedRecords = 0;
+        for (Path segment : rotatedSegments(path)) {
+            replayedRecords += replay(segment, todos).records;
+        }
+
+        final Replay replay = replay(path, todos);
+        replayedRecords += replay.records;
+
+        if (Files.exists(path)) {
+            // Drop a record cut short by a crash, so new records follow valid ones
+            try (FileChannel channel = FileChannel.open(path, WRITE)) {
+                channel.truncate(replay.validLength);
+            }
+        }
+
+        final TodoJournal journal = new TodoJournal(path, todos, syncBatchSize, replayedRecords);
+        todos.addListener(journal);
+        return journal;
+    }
+
+    public long replayedRecords() {
+        return replayedRecords;
+    }
+
+    @Override
+    public void todoAdded(Todo todo) {
+        if (failure != null) {
+            return;
+        }
+
+        try {
+            begin(ADDED, todo);
+            writeName(todo.getName());
+            payload.writeBoolean(todo.isCompleted());
+            payload.writeLong(todo.getCreatedAtEpochSecond());
+            payload.writeLong(todo.getCompletedAtEpochSecond());
+            append();
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    @Override
+    public void todoCompleted(Todo todo) {
+        if (failure != null) {
+            return;
+        }
+
+        try {
+            begin(COMPLETED, todo);
+            payload.writeLong(todo.getCompletedAtEpochSecond());
+            append();
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    @Override
+    public void todoUnCompleted(Todo todo) {
+        if (failure != null) {
+            return;
+        }
+
+        try {
+            begin(UNCOMPLETED, todo);
+            append();
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    @Override
+    public void todoRenamed(Todo todo) {
+        if (failure != null) {
+            return;
+        }
+
+        try {
+            begin(RENAMED, todo);
+            writeName(todo.getName());
+            append();
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    @Override
+    public void todoRemoved(Todo todo) {
+        if (failure != null) {
+            return;
+        }
+
+        try {
+            begin(REMOVED, todo);
+            append();
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    /**
+     * @return whether a change couldn't be recorded, in which case no
+     *         change is recorded until the next compaction
+     */
+    public boolean hasFailed() {
+        return failure != null;
+    }
+
+    /**
+     * Forces the records written so far to disk.
+     *
+     * @throws IOException if a change couldn't be recorded since the last compaction
+     */
+    public void sync() throws IOException {
+        if (failure != null) {
+            throw new IOException(String.format("The journal '%s' stopped recording the changes.", path), failure);
+        }
+
+        out.flush();
+        channel.force(false);
+        unsyncedRecords = 0;
+    }
+
+    /**
+     * Starts writing a snapshot of the current todos with {@code reporter}
+     * in the background and returns right away. Once the reporter has
+     * replaced {@code snapshotFilename}, the records it covers are deleted.
+     * Nothing is done while a previous compaction is running.
+     *
+     * <p>After a failure, the snapshot holds the changes the journal
+     * couldn't record, and the journal starts recording again.
+     */
+    public Future<?> compact(TodoReporter reporter, String snapshotFilename) throws IOException {
+        if (compaction != null && !compaction.isDone()) {
+            return compaction;
+        }
+
+        // Copy the todos, so the snapshot isn't affected by later changes
+        final List<Todo> snapshot = new ArrayList<>();
+        for (Todo todo : todos.getAllTodos()) {
+            snapshot.add(new Todo(todo.getId(), todo.getName(), todo.isCompleted(),
+                    todo.getCreatedAt(), todo.getCompletedAt()));
+        }
+
+        if (failure == null) {
+            sync();
+            out.close();
+        } else {
+            try {
+                out.close();
+            } catch (IOException e) {
+                // The records that can't be written are part of the snapshot
+            }
+        }
+
+        final List<Path> segments = rotatedSegments(path);
+        final Path rotated = path.resolveSibling(path.getFileName() + "." + (segments.size() + 1));
+        Files.move(path, rotated, StandardCopyOption.ATOMIC_MOVE);
+        segments.add(rotated);
+
+        openChannel();
+        failure = null;
+
+        compaction = compactor.submit(() -> {
+            reporter.save(snapshot, snapshotFilename);
+
+            // Newest first, so a failure never leaves a gap in the generations
+            for (int i = segments.size() - 1; i >= 0; i--) {
+                Files.delete(segments.get(i));
+            }
+            return null;
+        });
+
+        return compaction;
+    }
+
+    @Override
+    public void close() throws IOException {
+        todos.removeListener(this);
+
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            sync();
+        } finally {
+            out.close();
+        }
+    }
+
+    // For the tests, to simulate a failing disk
+    FileChannel channel() {
+        return channel;
+    }
+
+    private void openChannel() throws IOException {
+        channel = FileChannel.open(path, CREATE, WRITE, StandardOpenOption.APPEND);
+        out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+    }
+
+    private void begin(byte operation, Todo todo) throws IOException {
+        record.reset();
+        payload.writeByte(operation);
+        payload.writeUTF(todo.getId());
+    }
+
+    private void writeName(String name) throws IOException {
+        if (name == null) {
+            payload.writeInt(NULL_NAME);
+            return;
+        }
+
+        final byte[] bytes = name.getBytes(UTF_8);
+        payload.writeInt(bytes.length);
+        payload.write(bytes);
+    }
+
+    private void append() throws IOException {
+        crc.reset();
+        crc.update(record.array(), 0, record.size());
+
+        out.writeInt(record.size());
+        out.writeInt((int) crc.getValue());
+        out.write(record.array(), 0, record.size());
+
+        if (++unsyncedRecords >= syncBatchSize) {
+            sync();
+        }
+    }
+
+    private static Replay replay(Path segment, TodoList todos) throws IOException {
+        final Replay replay = new Replay();
+        if (Files.notExists(segment)) {
+            return replay;
+        }
+
+        final long size = Files.size(segment);
+        final CRC32 crc = new CRC32();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment), BUFFER_SIZE))) {
+            while (true) {
+                final byte[] bytes;
+                try {
+                    final int length = in.readInt();
+                    final int checksum = in.readInt();
+                    if (length < 0 || length > size) {
+                        break;
+                    }
+
+                    bytes = new byte[length];
+                    in.readFully(bytes);
+
+                    crc.reset();
+                    crc.update(bytes, 0, length);
+                    if ((int) crc.getValue() != checksum) {
+                        break;
+                    }
+                } catch (EOFException e) {
+                    break;
+                }
+
+                apply(new DataInputStream(new ByteArrayInputStream(bytes)), todos);
+                replay.validLength += 8 + bytes.length;
+                replay.records++;
+            }
+        }
+
+        return replay;
+    }
+
+    private static void apply(DataInputStream record, TodoList todos) throws IOException {
+        final byte operation = record.readByte();
+        final String todoId = record.readUTF();
+
+        switch (operation) {
+            case ADDED: {
+                final String name = readName(record);
+                final boolean completed = record.readBoolean();
+                final LocalDateTime createdAt = fromEpochSecond(record.readLong());
+                final LocalDateTime completedAt = fromEpochSecond(record.readLong());
+                todos.add(new Todo(todoId, name, completed, createdAt, completedAt));
+            }
+            break;
+
+            case COMPLETED:
+                todos.completeTodo(todoId, fromEpochSecond(record.readLong()));
+                break;
+
+            case UNCOMPLETED:
+                todos.unCompleteTodo(todoId);
+                break;
+
+            case RENAMED:
+                todos.renameTodo(todoId, readName(record));
+                break;
+
+            case REMOVED:
+                todos.removeTodo(todoId);
+                break;
+
+            default:
+                throw new IOException(String.format("Unknown journal operation %d.", operation));
+        }
+    }
+
+    private static String readName(DataInputStream record) throws IOException {
+        final int length = record.readInt();
+        if (length == NULL_NAME) {
+            return null;
+        }
+
+        final byte[] bytes = new byte[length];
+        record.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    // Segments left by compactions, oldest first
+    private static List<Path> rotatedSegments(Path path) {
+        final List<Path> segments = new ArrayList<>();
+        for (int generation = 1; ; generation++) {
+            final Path segment = path.resolveSibling(path.getFileName() + "." + generation);
+            if (Files.notExists(segment)) {
+                return segments;
+            }
+            segments.add(segment);
+        }
+    }
+
+    private static class Replay {
+        long records;
+        long validLength;
+    }
+
+    // Exposes the internal array, so records are checksummed and written without a copy
+    private static class RecordBuffer extends ByteArrayOutputStream {
+        byte[] array() {
+            return buf;
+        }
+    }
+
+}
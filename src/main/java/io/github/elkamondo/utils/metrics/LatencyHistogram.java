@@ -0,0 +1,142 @@
+package io.github.elkamondo.utils.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts latencies, in nanoseconds, in buckets laid out like HdrHistogram's:
+ * every power of two is split in 8 linear buckets, so a percentile is off
+ * by at most 12.5% whatever the magnitude of the latencies.
+ *
+ * <p>Recording takes a few atomic increments and never allocates nor locks,
+ * so it can stay on hot paths and be read from other threads at any time.
+ */
+public final class LatencyHistogram implements LatencyHistogramMXBean {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    // Latencies of 2^41 ns (about 36 minutes) or more share the last bucket
+    private static final int MAX_EXPONENT = 40;
+    private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+    private static final int BUCKETS = (MAX_EXPONENT - 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public void record(long nanos) {
+        final long value = Math.max(0, nanos);
+        counts.getAndIncrement(bucketOf(Math.min(value, MAX_VALUE)));
+        count.increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    /**
+     * Records the time elapsed since {@code startNanos}, a value of {@link System#nanoTime()}.
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    @Override
+    public long getMeanNanos() {
+        final long count = getCount();
+        return count > 0 ? getTotalNanos() / count : 0;
+    }
+
+    @Override
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    @Override
+    public long getP50Nanos() {
+        return getPercentile(50);
+    }
+
+    @Override
+    public long getP90Nanos() {
+        return getPercentile(90);
+    }
+
+    @Override
+    public long getP99Nanos() {
+        return getPercentile(99);
+    }
+
+    /**
+     * @return the highest latency of the bucket holding the percentile, at
+     *         most the highest latency recorded; 0 when nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("The percentile should be between 0 and 100.");
+        }
+
+        // Copied first, so the rank and the walk see the same counts
+        final long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        final long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    // Values below 16 get a bucket each, then each power of two gets SUB_BUCKETS of them
+    static int bucketOf(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long lowestValueOf(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+
+        final int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        final long subBucket = bucket % SUB_BUCKETS;
+        return (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    static long highestValueOf(int bucket) {
+        return bucket + 1 < BUCKETS ? lowestValueOf(bucket + 1) - 1 : Long.MAX_VALUE;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, mean=%d ns, p50=%d ns, p99=%d ns, max=%d ns",
+                getCount(), getMeanNanos(), getP50Nanos(), getP99Nanos(), getMaxNanos());
+    }
+
+}
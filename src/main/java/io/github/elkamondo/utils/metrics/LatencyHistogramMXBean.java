@@ -0,0 +1,20 @@
+package io.github.elkamondo.utils.metrics;
+
+/**
+ * The JMX view of a {@link LatencyHistogram}, in nanoseconds.
+ */
+public interface LatencyHistogramMXBean {
+
+    long getCount();
+
+    long getMeanNanos();
+
+    long getP50Nanos();
+
+    long getP90Nanos();
+
+    long getP99Nanos();
+
+    long getMaxNanos();
+
+}
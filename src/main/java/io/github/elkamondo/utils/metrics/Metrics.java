@@ -0,0 +1,178 @@
+package io.github.elkamondo.utils.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.Closeable;
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Named latency histograms, counters and gauges.
+ *
+ * <p>The models and the reporters record into the {@linkplain #global()
+ * global} registry. Its content can be printed with {@link #snapshot()},
+ * dumped periodically with {@link #startDump} and published over JMX with
+ * {@link #registerMBeans}.
+ */
+public final class Metrics implements MetricsMXBean {
+
+    public static final String JMX_DOMAIN = "io.github.elkamondo";
+
+    private static final Metrics GLOBAL = new Metrics();
+
+    // Sorted, so the snapshots list the metrics by name
+    private final ConcurrentNavigableMap<String, LatencyHistogram> histograms = new ConcurrentSkipListMap<>();
+    private final ConcurrentNavigableMap<String, LongAdder> counters = new ConcurrentSkipListMap<>();
+    private final ConcurrentNavigableMap<String, LongSupplier> gauges = new ConcurrentSkipListMap<>();
+
+    private volatile MBeanServer mbeanServer;
+
+    public static Metrics global() {
+        return GLOBAL;
+    }
+
+    public LatencyHistogram histogram(String name) {
+        final LatencyHistogram histogram = histograms.get(name);
+        if (histogram != null) {
+            return histogram;
+        }
+
+        final LatencyHistogram created = new LatencyHistogram();
+        final LatencyHistogram previous = histograms.putIfAbsent(name, created);
+        if (previous != null) {
+            return previous;
+        }
+
+        // Histograms created once the registry is published are published too
+        final MBeanServer server = mbeanServer;
+        if (server != null) {
+            try {
+                register(server, created, histogramName(name));
+            } catch (JMException e) {
+                throw new IllegalStateException(String.format("Can't register the histogram '%s'.", name), e);
+            }
+        }
+        return created;
+    }
+
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    /**
+     * Reports the value of {@code value} under {@code name}, replacing any
+     * gauge of that name. The supplier is called from the threads reading
+     * the metrics.
+     */
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        final Map<String, Long> values = new LinkedHashMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.sum()));
+        return values;
+    }
+
+    @Override
+    public Map<String, Long> getGauges() {
+        final Map<String, Long> values = new LinkedHashMap<>();
+        gauges.forEach((name, gauge) -> values.put(name, gauge.getAsLong()));
+        return values;
+    }
+
+    @Override
+    public String getSnapshot() {
+        return snapshot();
+    }
+
+    /**
+     * @return the metrics as a text table, latencies in microseconds
+     */
+    public String snapshot() {
+        final StringBuilder text = new StringBuilder(1024);
+        final String lineSeparator = System.lineSeparator();
+
+        text.append(String.format("%-28s %10s %10s %10s %10s %10s %10s%n",
+                "Latency (us)", "count", "mean", "p50", "p90", "p99", "max"));
+        histograms.forEach((name, histogram) -> text.append(String.format("%-28s %10d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                name, histogram.getCount(), micros(histogram.getMeanNanos()), micros(histogram.getP50Nanos()),
+                micros(histogram.getP90Nanos()), micros(histogram.getP99Nanos()), micros(histogram.getMaxNanos()))));
+
+        text.append(lineSeparator).append(String.format("%-28s %10s%n", "Counter", "value"));
+        getCounters().forEach((name, value) -> text.append(String.format("%-28s %10d%n", name, value)));
+
+        text.append(lineSeparator).append(String.format("%-28s %10s%n", "Gauge", "value"));
+        getGauges().forEach((name, value) -> text.append(String.format("%-28s %10d%n", name, value)));
+
+        return text.toString();
+    }
+
+    /**
+     * Publishes this registry and its histograms as MXBeans of the
+     * {@value #JMX_DOMAIN} domain.
+     */
+    public void registerMBeans(MBeanServer server) throws JMException {
+        // Set first, so a histogram created meanwhile is registered by one side or the other
+        mbeanServer = server;
+
+        register(server, this, new ObjectName(JMX_DOMAIN + ":type=Metrics"));
+        for (Map.Entry<String, LatencyHistogram> histogram : histograms.entrySet()) {
+            register(server, histogram.getValue(), histogramName(histogram.getKey()));
+        }
+    }
+
+    /**
+     * Prints a snapshot to {@code out} every {@code period} from a daemon
+     * thread, until the returned handle is closed. Closing it waits for a
+     * dump in progress, so nothing is printed once it returns.
+     */
+    public Closeable startDump(PrintStream out, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("The dump period should be positive.");
+        }
+
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> out.print(snapshot()), period, period, unit);
+        return () -> {
+            scheduler.shutdownNow();
+            try {
+                scheduler.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    private static ObjectName histogramName(String name) throws JMException {
+        return new ObjectName(JMX_DOMAIN + ":type=Latency,name=" + ObjectName.quote(name));
+    }
+
+    private static void register(MBeanServer server, Object mbean, ObjectName name) throws JMException {
+        try {
+            server.registerMBean(mbean, name);
+        } catch (InstanceAlreadyExistsException e) {
+            // Already published, by a previous call
+        }
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1_000.0;
+    }
+
+}
@@ -0,0 +1,17 @@
+package io.github.elkamondo.utils.metrics;
+
+import java.util.Map;
+
+/**
+ * The JMX view of {@link Metrics}; each latency histogram is registered as
+ * a {@link LatencyHistogramMXBean} of its own.
+ */
+public interface MetricsMXBean {
+
+    Map<String, Long> getCounters();
+
+    Map<String, Long> getGauges();
+
+    String getSnapshot();
+
+}
@@ -0,0 +1,128 @@
+package io.github.elkamondo.utils.reports;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * A read-only view of a whole file mapped in memory. A single mapping is
+ * limited to 2GB, so larger files are mapped as several consecutive
+ * segments; values crossing a segment boundary are read byte by byte.
+ */
+final class MappedRegion {
+
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+    private static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private final MappedByteBuffer[] segments;
+    private final long size;
+
+    private MappedRegion(MappedByteBuffer[] segments, long size) {
+        this.segments = segments;
+        this.size = size;
+    }
+
+    static MappedRegion map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            final long size = channel.size();
+            final MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+            for (int i = 0; i < segments.length; i++) {
+                final long position = i * SEGMENT_SIZE;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(SEGMENT_SIZE, size - position));
+            }
+
+            return new MappedRegion(segments, size);
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    byte getByte(long position) {
+        return segments[(int) (position >>> SEGMENT_SHIFT)].get((int) (position & SEGMENT_MASK));
+    }
+
+    short getShort(long position) {
+        final ByteBuffer segment = segments[(int) (position >>> SEGMENT_SHIFT)];
+        final int offset = (int) (position & SEGMENT_MASK);
+        if (offset + 2 <= segment.limit()) {
+            return segment.getShort(offset);
+        }
+
+        return (short) readSlowly(position, 2);
+    }
+
+    int getInt(long position) {
+        final ByteBuffer segment = segments[(int) (position >>> SEGMENT_SHIFT)];
+        final int offset = (int) (position & SEGMENT_MASK);
+        if (offset + 4 <= segment.limit()) {
+            return segment.getInt(offset);
+        }
+
+        return (int) readSlowly(position, 4);
+    }
+
+    long getLong(long position) {
+        final ByteBuffer segment = segments[(int) (position >>> SEGMENT_SHIFT)];
+        final int offset = (int) (position & SEGMENT_MASK);
+        if (offset + 8 <= segment.limit()) {
+            return segment.getLong(offset);
+        }
+
+        return readSlowly(position, 8);
+    }
+
+    void getBytes(long position, byte[] destination, int offset, int length) {
+        while (length > 0) {
+            final ByteBuffer segment = segments[(int) (position >>> SEGMENT_SHIFT)].duplicate();
+            final int segmentOffset = (int) (position & SEGMENT_MASK);
+            final int chunk = Math.min(length, segment.limit() - segmentOffset);
+
+            segment.position(segmentOffset);
+            segment.get(destination, offset, chunk);
+
+            position += chunk;
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    /**
+     * Computes the CRC32 of the bytes between {@code start} (inclusive) and
+     * {@code end} (exclusive).
+     */
+    long checksum(long start, long end) {
+        final CRC32 crc = new CRC32();
+        long position = start;
+        while (position < end) {
+            final ByteBuffer segment = segments[(int) (position >>> SEGMENT_SHIFT)].duplicate();
+            final int segmentOffset = (int) (position & SEGMENT_MASK);
+            final int chunk = (int) Math.min(end - position, segment.limit() - segmentOffset);
+
+            segment.limit(segmentOffset + chunk);
+            segment.position(segmentOffset);
+            crc.update(segment);
+
+            position += chunk;
+        }
+
+        return crc.getValue();
+    }
+
+    private long readSlowly(long position, int bytes) {
+        long value = 0;
+        for (int i = 0; i < bytes; i++) {
+            value = (value << 8) | (getByte(position + i) & 0xFF);
+        }
+
+        return value;
+    }
+
+}
@@ -0,0 +1,305 @@
+package io.github.elkamondo.utils.reports;
+
+import io.github.elkamondo.exceptions.FileNameNotValidException;
+import io.github.elkamondo.models.Todo;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.IntPredicate;
+
+import static io.github.elkamondo.utils.DateTimeCodec.*;
+import static io.github.elkamondo.utils.PackedIds.*;
+import static io.github.elkamondo.utils.reports.TodoBinaryFormat.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Read-only access to a binary todo store through a memory mapping. Opening
+ * a store only checks its header: the todos are exposed as {@link MappedTodo}
+ * views that decode a field from the mapped file when it is accessed.
+ */
+public class MappedTodoStore implements AutoCloseable {
+
+    private MappedRegion region;
+    private final int count;
+    private final boolean sortedById;
+    private final long namesStart;
+
+    private MappedTodoStore(MappedRegion region, int count, boolean sortedById) {
+        this.region = region;
+        this.count = count;
+        this.sortedById = sortedById;
+        this.namesStart = HEADER_SIZE + (long) count * RECORD_SIZE;
+    }
+
+    public static MappedTodoStore open(String filename) throws IOException, FileNameNotValidException {
+        if (filename == null || filename.isEmpty()) {
+            throw new FileNameNotValidException("You should enter a valid file name.");
+        }
+
+        final Path path = Paths.get(filename);
+        if (Files.notExists(path)) {
+            throw new NoSuchFileException(filename);
+        }
+
+        final MappedRegion region = MappedRegion.map(path);
+        final long size = region.size();
+        if (size < HEADER_SIZE + TRAILER_SIZE || region.getInt(0) != MAGIC) {
+            throw new IOException(String.format("The file '%s' is not a todo store.", filename));
+        }
+
+        if (region.getShort(4) != VERSION) {
+            throw new IOException(String.format("Unsupported todo store version %d.", region.getShort(4)));
+        }
+
+        final long count = region.getLong(8);
+        if (count < 0 || count > (size - HEADER_SIZE - TRAILER_SIZE) / RECORD_SIZE) {
+            throw new IOException(String.format("The file '%s' is corrupted.", filename));
+        }
+
+        if (count > Integer.MAX_VALUE) {
+            throw new IOException(String.format("The file '%s' holds too many todos.", filename));
+        }
+
+        final boolean sortedById = (region.getShort(6) & SORTED_BY_ID) != 0;
+        return new MappedTodoStore(region, (int) count, sortedById);
+    }
+
+    /**
+     * Reads the whole file to check it against its checksum. This is
+     * proportional to the size of the store, which is why {@link #open}
+     * doesn't do it.
+     */
+    public boolean verifyChecksum() {
+        final long size = region().size();
+        return (int) region.checksum(0, size - TRAILER_SIZE) == region.getInt(size - TRAILER_SIZE);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public List<MappedTodo> getAllTodos() {
+        return new AbstractList<MappedTodo>() {
+            @Override
+            public MappedTodo get(int index) {
+                if (index < 0 || index >= count) {
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+                }
+                return new MappedTodo(MappedTodoStore.this, index);
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    public Collection<MappedTodo> getActiveTodos() {
+        return filtered(index -> !completed(index));
+    }
+
+    public Collection<MappedTodo> getCompletedTodos() {
+        return filtered(this::completed);
+    }
+
+    /**
+     * Finds a todo with a binary search over the id column when the store
+     * was saved in id order, and with a scan of that column otherwise.
+     */
+    public Optional<MappedTodo> findById(String todoId) {
+        if (!isPackable(todoId)) {
+            return Optional.empty();
+        }
+
+        final long packedId = packId(todoId);
+        if (sortedById) {
+            int low = 0;
+            int high = count - 1;
+            while (low <= high) {
+                final int middle = (low + high) >>> 1;
+                final int comparison = Long.compareUnsigned(packedId(middle), packedId);
+                if (comparison == 0) {
+                    return Optional.of(new MappedTodo(this, middle));
+                } else if (comparison < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+        } else {
+            for (int index = 0; index < count; index++) {
+                if (packedId(index) == packedId) {
+                    return Optional.of(new MappedTodo(this, index));
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    @Override
+    public void close() {
+        // The mapping is released once it is garbage collected
+        region = null;
+    }
+
+    long packedId(int index) {
+        return region().getLong(record(index) + ID_OFFSET);
+    }
+
+    /**
+     * @throws UncheckedIOException if the name lies outside of the names
+     *         section, which the checksum of a corrupted file would also tell
+     */
+    String name(int index) {
+        final long namesEnd = region().size() - TRAILER_SIZE;
+        final long nameOffset = region.getLong(record(index) + NAME_OFFSET);
+        // Compared without adding it to the start of the names, which could overflow
+        if (nameOffset < 0 || nameOffset > namesEnd - namesStart - 4) {
+            throw corruptedName(record(index) + NAME_OFFSET);
+        }
+
+        final long position = namesStart + nameOffset;
+        final int length = region.getInt(position);
+        if (length == NULL_NAME) {
+            return null;
+        }
+        if (length < 0 || length > namesEnd - position - 4) {
+            throw corruptedName(position);
+        }
+
+        final byte[] bytes = new byte[length];
+        region.getBytes(position + 4, bytes, 0, length);
+        return new String(bytes, UTF_8);
+    }
+
+    boolean completed(int index) {
+        return (region().getInt(record(index) + FLAGS_OFFSET) & COMPLETED) != 0;
+    }
+
+    LocalDateTime createdAt(int index) {
+        return fromEpochSecond(region().getLong(record(index) + CREATED_AT_OFFSET));
+    }
+
+    LocalDateTime completedAt(int index) {
+        return fromEpochSecond(region().getLong(record(index) + COMPLETED_AT_OFFSET));
+    }
+
+    private static UncheckedIOException corruptedName(long position) {
+        return new UncheckedIOException(new IOException(
+                String.format("The todo store has a corrupted name at offset %d.", position)));
+    }
+
+    private static long record(int index) {
+        return HEADER_SIZE + (long) index * RECORD_SIZE;
+    }
+
+    private MappedRegion region() {
+        if (region == null) {
+            throw new IllegalStateException("The todo store is closed.");
+        }
+
+        return region;
+    }
+
+    private Collection<MappedTodo> filtered(IntPredicate filter) {
+        return new AbstractCollection<MappedTodo>() {
+            @Override
+            public Iterator<MappedTodo> iterator() {
+                return new Iterator<MappedTodo>() {
+                    private int next = advance(0);
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < count;
+                    }
+
+                    @Override
+                    public MappedTodo next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        final MappedTodo todo = new MappedTodo(MappedTodoStore.this, next);
+                        next = advance(next + 1);
+                        return todo;
+                    }
+
+                    private int advance(int from) {
+                        int index = from;
+                        while (index < count && !filter.test(index)) {
+                            index++;
+                        }
+                        return index;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                int size = 0;
+                for (int index = 0; index < count; index++) {
+                    if (filter.test(index)) {
+                        size++;
+                    }
+                }
+                return size;
+            }
+        };
+    }
+
+    /**
+     * A lightweight handle on one record of the store.
+     */
+    public static final class MappedTodo {
+
+        private final MappedTodoStore store;
+        private final int index;
+
+        private MappedTodo(MappedTodoStore store, int index) {
+            this.store = store;
+            this.index = index;
+        }
+
+        public String getId() {
+            return unpackId(store.packedId(index));
+        }
+
+        public String getName() {
+            return store.name(index);
+        }
+
+        public boolean isCompleted() {
+            return store.completed(index);
+        }
+
+        public LocalDateTime getCreatedAt() {
+            return store.createdAt(index);
+        }
+
+        public LocalDateTime getCompletedAt() {
+            return store.completedAt(index);
+        }
+
+        public Todo toTodo() {
+            return new Todo(getId(), getName(), isCompleted(), getCreatedAt(), getCompletedAt());
+        }
+
+        @Override
+        public String toString() {
+            return toTodo().toString();
+        }
+
+    }
+
+}
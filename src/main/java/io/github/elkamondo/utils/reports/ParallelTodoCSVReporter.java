@@ -0,0 +1,234 @@
+package io.github.elkamondo.utils.reports;
+
+import io.github.elkamondo.exceptions.FileNameNotValidException;
+import io.github.elkamondo.models.Todo;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A {@link TodoCSVReporter} that splits the file into chunks at record
+ * boundaries and parses them concurrently on a fork-join pool. Todos are
+ * still handed to the caller in file order.
+ *
+ * <p>The file is cut in fixed-size chunks, each one scanned concurrently
+ * for its quotes and line breaks; the chunks are then resynchronized on the
+ * first record they start. Only as many chunks as the pool has threads,
+ * plus one, are parsed ahead of the caller, so the memory used doesn't grow
+ * with the file.
+ */
+public class ParallelTodoCSVReporter extends TodoCSVReporter {
+
+    private static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    public ParallelTodoCSVReporter() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public ParallelTodoCSVReporter(ForkJoinPool pool, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("The chunk size should be positive.");
+        }
+
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public long load(String filename, Consumer<? super Todo> action) throws IOException, FileNameNotValidException {
+        if (filename == null || filename.isEmpty()) {
+            throw new FileNameNotValidException("You should enter a valid file name.");
+        }
+
+        final Path path = Paths.get(filename);
+        if (Files.notExists(path) || Files.size(path) > Integer.MAX_VALUE || isCompressed(filename)) {
+            // A single mapping is limited to 2GB and compressed files can't be split,
+            // so both are read sequentially
+            return super.load(filename, action);
+        }
+
+        final long start = System.nanoTime();
+        final MappedByteBuffer content;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            content = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        // Every chunk is scanned concurrently, as if it started outside of a quoted field then inside of one
+        final int size = content.limit();
+        final List<ForkJoinTask<ChunkScan>> scans = new ArrayList<>();
+        for (long from = 0; from < size; from += chunkSize) {
+            final int chunkStart = (int) from;
+            final int chunkEnd = (int) Math.min(size, from + chunkSize);
+            scans.add(pool.submit(() -> scan(content, chunkStart, chunkEnd)));
+        }
+
+        // Parsed chunks are handed over in file order, with a bounded number of them in flight
+        final int readAhead = pool.getParallelism() + 1;
+        final Deque<ForkJoinTask<List<Todo>>> parses = new ArrayDeque<>(readAhead);
+        String[] header = null;
+        int recordStart = 0;
+        boolean quoted = false;
+        long count = 0;
+        try {
+            for (ForkJoinTask<ChunkScan> task : scans) {
+                // Knowing how each chunk starts, the first record it starts is known too
+                final ChunkScan scan = task.join();
+                final int boundary = quoted ? scan.boundaryIfQuoted : scan.boundary;
+                quoted ^= scan.oddQuotes;
+                if (boundary < 0) {
+                    continue;
+                }
+
+                if (header == null) {
+                    header = parseHeader(slice(content, 0, boundary));
+                } else {
+                    count += submit(parses, readAhead, slice(content, recordStart, boundary), header, action);
+                }
+                recordStart = boundary;
+            }
+
+            if (header != null && recordStart < size) {
+                count += submit(parses, readAhead, slice(content, recordStart, size), header, action);
+            }
+
+            while (!parses.isEmpty()) {
+                count += handOver(parses.remove().join(), action);
+            }
+        } catch (RuntimeException | IOException e) {
+            // A malformed row, an unreadable header or a failing action leaves no chunk being parsed
+            scans.forEach(scan -> scan.cancel(true));
+            parses.forEach(parse -> parse.cancel(true));
+            if (e instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e).getCause();
+            }
+            throw e;
+        }
+
+        recordLoad(start, count, size);
+        return count;
+    }
+
+    /**
+     * Parses {@code chunk} in the background once the oldest chunk in flight,
+     * if there are already {@code readAhead} of them, has been handed over.
+     *
+     * @return the number of todos handed over
+     */
+    private long submit(Deque<ForkJoinTask<List<Todo>>> parses, int readAhead, ByteBuffer chunk,
+                        String[] header, Consumer<? super Todo> action) {
+        long count = 0;
+        if (parses.size() >= readAhead) {
+            count = handOver(parses.remove().join(), action);
+        }
+
+        parses.add(pool.submit(() -> parseChunk(chunk, header)));
+        return count;
+    }
+
+    private static long handOver(List<Todo> todos, Consumer<? super Todo> action) {
+        todos.forEach(action);
+        return todos.size();
+    }
+
+    /**
+     * Finds where the first record starting in the chunk begins, for either
+     * quote state at the start of the chunk, and whether the chunk flips
+     * that state. An escaped quote ("") toggles twice and leaves the state
+     * unchanged, so names spanning several lines or chunks are never split.
+     */
+    private static ChunkScan scan(ByteBuffer content, int start, int end) {
+        // Tracked as if the chunk started outside of a quoted field
+        boolean quoted = false;
+        int boundary = -1;
+        int boundaryIfQuoted = -1;
+
+        for (int i = start; i < end; i++) {
+            final byte b = content.get(i);
+            if (b == '"') {
+                quoted = !quoted;
+            } else if (b == '\n') {
+                if (!quoted && boundary < 0) {
+                    boundary = i + 1;
+                } else if (quoted && boundaryIfQuoted < 0) {
+                    boundaryIfQuoted = i + 1;
+                }
+            }
+        }
+
+        return new ChunkScan(quoted, boundary, boundaryIfQuoted);
+    }
+
+    private static String[] parseHeader(ByteBuffer headerLine) throws IOException {
+        try (CSVParser parser = CSVFormat.DEFAULT.parse(new StringReader(decode(headerLine)))) {
+            final List<String> header = new ArrayList<>();
+            for (CSVRecord record : parser) {
+                record.forEach(header::add);
+            }
+            return header.toArray(new String[0]);
+        }
+    }
+
+    private static List<Todo> parseChunk(ByteBuffer chunk, String[] header) {
+        final List<Todo> todos = new ArrayList<>();
+        try (CSVParser records = CSVFormat.DEFAULT.withHeader(header).parse(new StringReader(decode(chunk)))) {
+            for (CSVRecord record : records) {
+                todos.add(toTodo(record));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return todos;
+    }
+
+    private static ByteBuffer slice(ByteBuffer content, int start, int end) {
+        final ByteBuffer slice = content.duplicate();
+        slice.limit(end);
+        slice.position(start);
+        return slice;
+    }
+
+    private static class ChunkScan {
+
+        final boolean oddQuotes;
+        // Right after the first line break outside of a quoted field, -1 if there is none
+        final int boundary;
+        final int boundaryIfQuoted;
+
+        ChunkScan(boolean oddQuotes, int boundary, int boundaryIfQuoted) {
+            this.oddQuotes = oddQuotes;
+            this.boundary = boundary;
+            this.boundaryIfQuoted = boundaryIfQuoted;
+        }
+
+    }
+
+    // Chunks are split on '\n' bytes, which never occur inside a multi-byte UTF-8 sequence
+    private static String decode(ByteBuffer bytes) {
+        return UTF_8.decode(bytes).toString();
+    }
+
+}
@@ -0,0 +1,312 @@
+package io.github.elkamondo.utils.reports;
+
+import io.github.elkamondo.exceptions.FileNameNotValidException;
+import io.github.elkamondo.models.Todo;
+import io.github.elkamondo.utils.metrics.Metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Spreads the todos over several files by the hash of their id, each file
+ * being read and written by the wrapped reporter: the shards of a CSV
+ * store are plain CSV files. The shards of {@code todos.csv} are named
+ * {@code todos.0.csv}, {@code todos.1.csv} and so on.
+ *
+ * <p>Shards are loaded and saved concurrently on a fork-join pool. Loading
+ * reads ahead as many shards as the pool has threads, plus one, and hands
+ * them over in order, so only that many shards are held in memory at once.
+ * A save only rewrites the shards whose todos changed since they were last
+ * loaded or saved by this reporter, a file being rewritten entirely the
+ * first time.
+ *
+ * <p>A file that isn't sharded yet is loaded as a whole, then split by the
+ * next save, which renames it with a {@value #BACKUP_EXTENSION} extension
+ * once every shard is written.
+ *
+ * <p>The number of shards of a store can grow, todos moving to their new
+ * shard on the next save, but can't shrink. As every save writes all the
+ * shards, even empty ones, a store has no gaps in its shard indices: only
+ * the shard following the last expected one is checked to detect a store
+ * with more shards.
+ */
+public class ShardedTodoReporter implements TodoReporter {
+
+    public static final int DEFAULT_SHARDS = 8;
+
+    public static final String BACKUP_EXTENSION = ".bak";
+
+    private static final LongAdder WRITTEN_SHARDS = Metrics.global().counter("shards.save.written");
+    private static final LongAdder SKIPPED_SHARDS = Metrics.global().counter("shards.save.skipped");
+
+    private final TodoReporter reporter;
+    private final int shards;
+    private final ForkJoinPool pool;
+
+    // The fingerprint of each shard as it is on disk, by file name; unknown files are rewritten entirely
+    private final Map<String, long[]> fingerprints = new ConcurrentHashMap<>();
+
+    public ShardedTodoReporter(TodoReporter reporter) {
+        this(reporter, DEFAULT_SHARDS, ForkJoinPool.commonPool());
+    }
+
+    public ShardedTodoReporter(TodoReporter reporter, int shards) {
+        this(reporter, shards, ForkJoinPool.commonPool());
+    }
+
+    public ShardedTodoReporter(TodoReporter reporter, int shards, ForkJoinPool pool) {
+        if (shards <= 0) {
+            throw new IllegalArgumentException("The number of shards should be positive.");
+        }
+
+        this.reporter = reporter;
+        this.shards = shards;
+        this.pool = pool;
+    }
+
+    public int getShards() {
+        return shards;
+    }
+
+    @Override
+    public boolean save(Collection<? extends Todo> todos, String filename) throws IOException, FileNameNotValidException {
+        if (filename == null || filename.isEmpty()) {
+            throw new FileNameNotValidException("You should enter a valid file name.");
+        }
+
+        if (todos == null) {
+            return false;
+        }
+
+        final List<List<Todo>> partitions = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            partitions.add(new ArrayList<>(todos.size() / shards + 1));
+        }
+
+        final long[] updated = new long[shards];
+        for (Todo todo : todos) {
+            final String id = todo.getId();
+            final int shard = shardOf(id, shards);
+            partitions.get(shard).add(todo);
+            updated[shard] += fingerprintOf(id, todo);
+        }
+
+        final long[] saved = fingerprints.get(filename);
+        final List<ForkJoinTask<?>> writes = new ArrayList<>();
+        for (int i = 0; i < shards; i++) {
+            if (saved != null && saved[i] == updated[i]) {
+                SKIPPED_SHARDS.increment();
+                continue;
+            }
+
+            final List<Todo> partition = partitions.get(i);
+            final String shardFilename = shardFileName(filename, i);
+            writes.add(pool.submit(() -> saveShard(partition, shardFilename)));
+        }
+
+        // Every write is waited for, so none is still running when this method returns
+        RuntimeException failure = null;
+        for (ForkJoinTask<?> write : writes) {
+            try {
+                write.join();
+            } catch (RuntimeException e) {
+                failure = failure != null ? failure : e;
+            }
+        }
+
+        if (failure != null) {
+            // Some shards may have been replaced, the next save rewrites them all
+            fingerprints.remove(filename);
+            if (failure instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) failure).getCause();
+            }
+            throw failure;
+        }
+
+        fingerprints.put(filename, updated);
+        WRITTEN_SHARDS.add(writes.size());
+
+        // The shards now hold every todo, the file they were split from is outdated
+        final Path unsharded = Paths.get(filename);
+        if (Files.exists(unsharded)) {
+            Files.move(unsharded, unsharded.resolveSibling(unsharded.getFileName() + BACKUP_EXTENSION), REPLACE_EXISTING);
+        }
+        return true;
+    }
+
+    @Override
+    public Collection<? extends Todo> load(String filename) throws IOException, FileNameNotValidException {
+        final List<Todo> todos = new ArrayList<>();
+        load(filename, todos::add);
+        return todos;
+    }
+
+    @Override
+    public long load(String filename, Consumer<? super Todo> action) throws IOException, FileNameNotValidException {
+        if (filename == null || filename.isEmpty()) {
+            throw new FileNameNotValidException("You should enter a valid file name.");
+        }
+
+        if (Files.exists(Paths.get(shardFileName(filename, shards)))) {
+            throw new IOException(String.format("The file '%s' has more than %d shards.", filename, shards));
+        }
+
+        boolean sharded = false;
+        for (int i = 0; i < shards && !sharded; i++) {
+            sharded = Files.exists(Paths.get(shardFileName(filename, i)));
+        }
+
+        if (!sharded) {
+            fingerprints.remove(filename);
+            return reporter.load(filename, action);
+        }
+
+        // Shards are read ahead in a sliding window, then handed over in order from the calling thread
+        final int readAhead = Math.min(shards, pool.getParallelism() + 1);
+        final Deque<ForkJoinTask<Shard>> reads = new ArrayDeque<>(readAhead);
+        int nextShard = 0;
+
+        final long[] loaded = new long[shards];
+        long count = 0;
+        try {
+            for (int i = 0; i < shards; i++) {
+                while (nextShard < shards && reads.size() < readAhead) {
+                    final String shardFilename = shardFileName(filename, nextShard++);
+                    reads.add(pool.submit(() -> loadShard(shardFilename)));
+                }
+
+                final Shard shard = reads.remove().join();
+                loaded[i] = shard.fingerprint;
+                count += shard.todos.size();
+                shard.todos.forEach(action);
+            }
+        } catch (UncheckedIOException e) {
+            reads.forEach(read -> read.cancel(true));
+            fingerprints.remove(filename);
+            throw e.getCause();
+        }
+
+        fingerprints.put(filename, loaded);
+        return count;
+    }
+
+    /**
+     * @return whether shards of {@code filename} exist, in which case the
+     *         file itself, if any, is outdated
+     */
+    public static boolean isSharded(String filename) {
+        return filename != null && !filename.isEmpty() && Files.exists(Paths.get(shardFileName(filename, 0)));
+    }
+
+    /**
+     * Inserts the index of the shard before the extensions of the file
+     * name, so the shards are recognized like the file itself.
+     */
+    static String shardFileName(String filename, int shard) {
+        final Path path = Paths.get(filename);
+        final String name = path.getFileName().toString();
+
+        final int extension = name.indexOf('.', 1);
+        final String shardName = extension < 0
+                ? name + "." + shard
+                : name.substring(0, extension) + "." + shard + name.substring(extension);
+
+        return path.resolveSibling(shardName).toString();
+    }
+
+    // String hashes are specified, so a todo stays in the same shard from one run to the next
+    static int shardOf(String id, int shards) {
+        return Math.floorMod(id.hashCode(), shards);
+    }
+
+    /**
+     * Hashes every saved field of the todo, so the sum over a shard changes
+     * whenever a todo of that shard is added, removed or changed, whatever
+     * the order of the todos.
+     */
+    static long fingerprintOf(String id, Todo todo) {
+        long hash = hash(id, 0x9E3779B97F4A7C15L);
+        hash = hash(todo.getName(), hash);
+        hash = mix(hash ^ todo.getCreatedAtEpochSecond());
+        hash = mix(hash ^ todo.getCompletedAtEpochSecond());
+        return mix(hash ^ (todo.isCompleted() ? 1 : 2));
+    }
+
+    // 64 bits FNV-1a, a null string hashing differently from an empty one
+    private static long hash(String string, long seed) {
+        if (string == null) {
+            return mix(seed + 1);
+        }
+
+        long hash = seed;
+        for (int i = 0; i < string.length(); i++) {
+            hash = (hash ^ string.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash ^ string.length());
+    }
+
+    // The finalizer of SplitMix64
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+
+    private Void saveShard(List<Todo> todos, String filename) {
+        try {
+            reporter.save(todos, filename);
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (FileNameNotValidException e) {
+            // Shard file names are never empty
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Shard loadShard(String filename) {
+        final List<Todo> todos = new ArrayList<>();
+        try {
+            reporter.load(filename, todos::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (FileNameNotValidException e) {
+            throw new IllegalStateException(e);
+        }
+
+        long fingerprint = 0;
+        for (Todo todo : todos) {
+            fingerprint += fingerprintOf(todo.getId(), todo);
+        }
+        return new Shard(todos, fingerprint);
+    }
+
+    private static class Shard {
+
+        final List<Todo> todos;
+        final long fingerprint;
+
+        Shard(List<Todo> todos, long fingerprint) {
+            this.todos = todos;
+            this.fingerprint = fingerprint;
+        }
+
+    }
+
+}
@@ -0,0 +1,66 @@
+package io.github.elkamondo.utils.reports;
+
+/**
+ * Layout of the binary todo store, all values are big-endian:
+ *
+ * <pre>
+ * header   magic "TODO" (4) | version (2) | flags (2) | count (8)
+ * records  count fixed-width slots:
+ *          id (8) | createdAt (8) | completedAt (8) | name offset (8) | flags (4) | reserved (4)
+ * names    for every record: length (4, -1 for null) | UTF-8 bytes
+ * trailer  CRC32 of everything above (4)
+ * </pre>
+ *
+ * Ids are stored as up to 8 ASCII characters packed into a {@code long}
+ * (see {@link io.github.elkamondo.utils.PackedIds}), timestamps as epoch
+ * seconds ({@link io.github.elkamondo.utils.DateTimeCodec#NO_TIMESTAMP} when
+ * absent) and name offsets are relative to the start of the names section.
+ */
+final class TodoBinaryFormat {
+
+    static final int MAGIC = 0x544F444F;            // "TODO"
+    static final short VERSION = 1;
+
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 40;
+    static final int TRAILER_SIZE = 4;
+
+    // Header flags
+    static final short SORTED_BY_ID = 0x1;
+
+    // Record fields
+    static final int ID_OFFSET = 0;
+    static final int CREATED_AT_OFFSET = 8;
+    static final int COMPLETED_AT_OFFSET = 16;
+    static final int NAME_OFFSET = 24;
+    static final int FLAGS_OFFSET = 32;
+
+    // Record flags
+    static final int COMPLETED = 0x1;
+
+    static final int NULL_NAME = -1;
+
+    private TodoBinaryFormat() {}
+
+    static int utf8Length(String string) {
+        int length = 0;
+        for (int i = 0; i < string.length(); i++) {
+            final char c = string.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < string.length()
+                    && Character.isLowSurrogate(string.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                // Lone surrogates are encoded as '?' by String.getBytes
+                length += Character.isSurrogate(c) ? 1 : 3;
+            }
+        }
+
+        return length;
+    }
+
+}
@@ -0,0 +1,219 @@
+package io.github.elkamondo.utils.reports;
+
+import io.github.elkamondo.exceptions.FileNameNotValidException;
+import io.github.elkamondo.models.Todo;
+import io.github.elkamondo.utils.AtomicFiles;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import static io.github.elkamondo.utils.DateTimeCodec.*;
+import static io.github.elkamondo.utils.PackedIds.*;
+import static io.github.elkamondo.utils.reports.TodoBinaryFormat.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Saves todos in the compact binary layout described by {@link TodoBinaryFormat}.
+ */
+public class TodoBinaryReporter implements TodoReporter {
+
+    public static final String FILE_EXTENSION = ".tdb";
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    @Override
+    public boolean save(Collection<? extends Todo> todos, String filename) throws IOException, FileNameNotValidException {
+        if (filename == null || filename.isEmpty()) {
+            throw new FileNameNotValidException("You should enter a valid file name.");
+        }
+
+        if (todos == null) {
+            return false;
+        }
+
+        // Validate the ids before touching the file
+        boolean sorted = true;
+        long previousId = 0;
+        boolean first = true;
+        for (Todo todo : todos) {
+            if (!isPackable(todo.getId())) {
+                throw new IOException(String.format("The id '%s' can't be stored in a binary file.", todo.getId()));
+            }
+
+            final long packedId = packId(todo.getId());
+            sorted &= first || Long.compareUnsigned(previousId, packedId) < 0;
+            previousId = packedId;
+            first = false;
+        }
+
+        final boolean sortedById = sorted;
+        AtomicFiles.writeChannel(Paths.get(filename), channel -> {
+            final ChecksumWriter out = new ChecksumWriter(channel);
+
+            out.buffer().putInt(MAGIC)
+                        .putShort(VERSION)
+                        .putShort(sortedById ? SORTED_BY_ID : 0)
+                        .putLong(todos.size());
+
+            long nameOffset = 0;
+            for (Todo todo : todos) {
+                out.ensureRemaining(RECORD_SIZE);
+                out.buffer().putLong(packId(todo.getId()))
+                            .putLong(todo.getCreatedAtEpochSecond())
+                            .putLong(todo.getCompletedAtEpochSecond())
+                            .putLong(nameOffset)
+                            .putInt(todo.isCompleted() ? COMPLETED : 0)
+                            .putInt(0);
+
+                nameOffset += 4 + (todo.getName() != null ? utf8Length(todo.getName()) : 0);
+            }
+
+            for (Todo todo : todos) {
+                out.ensureRemaining(4);
+                if (todo.getName() == null) {
+                    out.buffer().putInt(NULL_NAME);
+                } else {
+                    out.buffer().putInt(utf8Length(todo.getName()));
+                    out.writeUtf8(todo.getName());
+                }
+            }
+
+            out.finish();
+        });
+
+        return true;
+    }
+
+    @Override
+    public Collection<? extends Todo> load(String filename) throws IOException, FileNameNotValidException {
+        final List<Todo> todos = new ArrayList<>();
+        load(filename, todos::add);
+        return todos;
+    }
+
+    @Override
+    public long load(String filename, Consumer<? super Todo> action) throws IOException, FileNameNotValidException {
+        if (filename == null || filename.isEmpty()) {
+            throw new FileNameNotValidException("You should enter a valid file name.");
+        }
+
+        final Path path = Paths.get(filename);
+        if (Files.notExists(path)) {
+            return 0;
+        }
+
+        try (MappedTodoStore store = MappedTodoStore.open(filename)) {
+            if (!store.verifyChecksum()) {
+                throw new IOException(String.format("The file '%s' is corrupted.", filename));
+            }
+
+            for (MappedTodoStore.MappedTodo todo : store.getAllTodos()) {
+                action.accept(todo.toTodo());
+            }
+
+            return store.size();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Buffers the writes to the channel and keeps a running checksum of
+     * every byte written.
+     */
+    private static class ChecksumWriter {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final CRC32 crc = new CRC32();
+
+        ChecksumWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        ByteBuffer buffer() {
+            return buffer;
+        }
+
+        void ensureRemaining(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        /**
+         * Encodes the string straight into the buffer, ASCII characters being
+         * copied one byte at a time without an intermediate array.
+         */
+        void writeUtf8(String string) throws IOException {
+            final int length = string.length();
+            int i = 0;
+            while (i < length) {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+
+                final int end = Math.min(length, i + buffer.remaining());
+                char c;
+                while (i < end && (c = string.charAt(i)) < 0x80) {
+                    buffer.put((byte) c);
+                    i++;
+                }
+
+                if (i < end) {
+                    // Let the JDK encode the rest, including surrogate pairs
+                    final byte[] bytes = string.substring(i).getBytes(UTF_8);
+                    write(bytes);
+                    return;
+                }
+            }
+        }
+
+        private void write(byte[] bytes) throws IOException {
+            int offset = 0;
+            while (offset < bytes.length) {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+                final int length = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, length);
+                offset += length;
+            }
+        }
+
+        void finish() throws IOException {
+            flush();
+            buffer.putInt((int) crc.getValue());
+            buffer.flip();
+            writeFully();
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+
+            final ByteBuffer checksummed = buffer.duplicate();
+            crc.update(checksummed);
+
+            writeFully();
+        }
+
+        private void writeFully() throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+    }
+
+}
@@ -2,28 +2,49 @@ package io.github.elkamondo.utils.reports;
 
 import io.github.elkamondo.exceptions.FileNameNotValidException;
 import io.github.elkamondo.models.Todo;
+import io.github.elkamondo.utils.AtomicFiles;
+import io.github.elkamondo.utils.DateTimeCodec;
+import io.github.elkamondo.utils.metrics.LatencyHistogram;
+import io.github.elkamondo.utils.metrics.Metrics;
 import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.csv.CSVRecord;
 
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.IOException;
+import java.io.*;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
-import java.util.function.BiFunction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
-import static io.github.elkamondo.utils.Constants.DEFAULT_DATETIME_FORMATTER;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 public class TodoCSVReporter implements TodoReporter {
 
-    private static final String[] CSV_HEADER = {"id", "name", "completed", "createdAt", "completedAt"};
+    /**
+     * Files ending with this extension are gzipped when saved and
+     * decompressed when loaded.
+     */
+    public static final String COMPRESSED_FILE_EXTENSION = ".gz";
+
+    static final String[] CSV_HEADER = {"id", "name", "completed", "createdAt", "completedAt"};
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    // Shared with the parallel reporter; bytes are counted as stored, compressed or not
+    static final LatencyHistogram SAVE_LATENCY = Metrics.global().histogram("csv.save");
+    static final LatencyHistogram LOAD_LATENCY = Metrics.global().histogram("csv.load");
+    static final LongAdder SAVED_ROWS = Metrics.global().counter("csv.save.rows");
+    static final LongAdder SAVED_BYTES = Metrics.global().counter("csv.save.bytes");
+    static final LongAdder LOADED_ROWS = Metrics.global().counter("csv.load.rows");
+    static final LongAdder LOADED_BYTES = Metrics.global().counter("csv.load.bytes");
 
     @Override
     public boolean save(Collection<? extends Todo> todos, String filename) throws IOException, FileNameNotValidException {
@@ -35,54 +56,104 @@ public class TodoCSVReporter implements TodoReporter {
             return false;
         }
 
-        final BiFunction<LocalDateTime, DateTimeFormatter, String> formatDate =
-                (dateTime, formatter) -> dateTime != null ? dateTime.format(formatter) : null;
-
-        final FileWriter out = new FileWriter(filename);
-        try (CSVPrinter printer = new CSVPrinter(out, CSVFormat.DEFAULT.withHeader(CSV_HEADER))) {
-            for (Todo todo : todos) {
-                printer.printRecord(
-                        todo.getId(), todo.getName(), todo.isCompleted(),
-                        formatDate.apply(todo.getCreatedAt(), DEFAULT_DATETIME_FORMATTER),
-                        formatDate.apply(todo.getCompletedAt(), DEFAULT_DATETIME_FORMATTER)
-                );
+        final long start = System.nanoTime();
+
+        // Timestamps are formatted into reusable buffers instead of new strings
+        final StringBuilder createdAt = new StringBuilder();
+        final StringBuilder completedAt = new StringBuilder();
+
+        final Path path = Paths.get(filename);
+        AtomicFiles.writeStream(path, out -> {
+            final OutputStream target = isCompressed(filename) ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(target, UTF_8), BUFFER_SIZE);
+
+            try (CSVPrinter printer = new CSVPrinter(writer, CSVFormat.DEFAULT.withHeader(CSV_HEADER))) {
+                for (Todo todo : todos) {
+                    printer.print(todo.getId());
+                    printer.print(todo.getName());
+                    printer.print(todo.isCompleted());
+                    printer.print(formatDate(todo.getCreatedAt(), createdAt));
+                    printer.print(formatDate(todo.getCompletedAt(), completedAt));
+                    printer.println();
+                }
             }
-        }
+        });
 
+        SAVE_LATENCY.recordSince(start);
+        SAVED_ROWS.add(todos.size());
+        SAVED_BYTES.add(Files.size(path));
         return true;
     }
 
     @Override
     public Collection<? extends Todo> load(String filename) throws IOException, FileNameNotValidException {
+        final List<Todo> todos = new ArrayList<>();
+        load(filename, todos::add);
+        return todos;
+    }
+
+    @Override
+    public long load(String filename, Consumer<? super Todo> action) throws IOException, FileNameNotValidException {
         if (filename == null || filename.isEmpty()) {
             throw new FileNameNotValidException("You should enter a valid file name.");
         }
 
-        if (Files.notExists(Paths.get(filename))) {
-            return Collections.emptyList();
+        final Path path = Paths.get(filename);
+        if (Files.notExists(path)) {
+            return 0;
         }
 
-        final Iterable<CSVRecord> records = CSVFormat.DEFAULT
-                .withFirstRecordAsHeader()
-                .parse(new FileReader(filename));
+        final long start = System.nanoTime();
+        long count = 0;
+        try (Reader in = newReader(path);
+             CSVParser records = CSVFormat.DEFAULT.withFirstRecordAsHeader().parse(in)) {
+            for (CSVRecord record : records) {
+                action.accept(toTodo(record));
+                count++;
+            }
+        }
 
-        final BiFunction<String, DateTimeFormatter, LocalDateTime> parseDate =
-                (dateTime, formatter) ->
-                        dateTime != null && !dateTime.isEmpty()
-                                ? LocalDateTime.parse(dateTime, formatter)
-                                : null;
+        recordLoad(start, count, Files.size(path));
+        return count;
+    }
 
-        final List<Todo> todos = new ArrayList<>();
-        records.forEach(record -> {
-            final String id = record.get(CSV_HEADER[0]);
-            final String name = record.get(CSV_HEADER[1]);
-            final boolean completed = Boolean.parseBoolean(record.get(CSV_HEADER[2]));
-            final LocalDateTime createdAt = parseDate.apply(record.get(CSV_HEADER[3]), DEFAULT_DATETIME_FORMATTER);
-            final LocalDateTime completedAt = parseDate.apply(record.get(CSV_HEADER[4]), DEFAULT_DATETIME_FORMATTER);
-            todos.add(new Todo(id, name, completed, createdAt, completedAt));
-        });
+    static void recordLoad(long startNanos, long rows, long bytes) {
+        LOAD_LATENCY.recordSince(startNanos);
+        LOADED_ROWS.add(rows);
+        LOADED_BYTES.add(bytes);
+    }
 
-        return todos;
+    static boolean isCompressed(String filename) {
+        return filename.endsWith(COMPRESSED_FILE_EXTENSION);
+    }
+
+    private static Reader newReader(Path path) throws IOException {
+        final InputStream in = Files.newInputStream(path);
+        final InputStream source = isCompressed(path.toString()) ? new GZIPInputStream(in, BUFFER_SIZE) : in;
+        return new BufferedReader(new InputStreamReader(source, UTF_8), BUFFER_SIZE);
+    }
+
+    static Todo toTodo(CSVRecord record) {
+        final String id = record.get(CSV_HEADER[0]);
+        final String name = record.get(CSV_HEADER[1]);
+        final boolean completed = Boolean.parseBoolean(record.get(CSV_HEADER[2]));
+        final LocalDateTime createdAt = parseDate(record.get(CSV_HEADER[3]));
+        final LocalDateTime completedAt = parseDate(record.get(CSV_HEADER[4]));
+        return new Todo(id, name, completed, createdAt, completedAt);
+    }
+
+    private static CharSequence formatDate(LocalDateTime dateTime, StringBuilder buffer) {
+        if (dateTime == null) {
+            return null;
+        }
+
+        buffer.setLength(0);
+        DateTimeCodec.appendTo(dateTime, buffer);
+        return buffer;
+    }
+
+    private static LocalDateTime parseDate(String dateTime) {
+        return dateTime != null && !dateTime.isEmpty() ? DateTimeCodec.parse(dateTime) : null;
     }
 
 }
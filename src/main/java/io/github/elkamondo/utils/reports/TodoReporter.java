@@ -5,6 +5,7 @@ import io.github.elkamondo.models.Todo;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.function.Consumer;
 
 public interface TodoReporter {
 
@@ -12,4 +13,28 @@ public interface TodoReporter {
 
     Collection<? extends Todo> load(String filename) throws IOException, FileNameNotValidException;
 
+    /**
+     * Streams the persisted todos to {@code action} one at a time, without
+     * collecting them first. The file is closed before this method returns.
+     *
+     * @return the number of todos read
+     */
+    default long load(String filename, Consumer<? super Todo> action) throws IOException, FileNameNotValidException {
+        final Collection<? extends Todo> todos = load(filename);
+        todos.forEach(action);
+        return todos.size();
+    }
+
+    /**
+     * Picks the reporter matching the extension of {@code filename}, the
+     * CSV reporter being the default one.
+     */
+    static TodoReporter forFileName(String filename) {
+        if (filename != null && filename.endsWith(TodoBinaryReporter.FILE_EXTENSION)) {
+            return new TodoBinaryReporter();
+        }
+
+        return new TodoCSVReporter();
+    }
+
 }
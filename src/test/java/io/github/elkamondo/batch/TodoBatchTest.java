@@ -0,0 +1,97 @@
+package io.github.elkamondo.batch;
+
+import io.github.elkamondo.models.Todo;
+import io.github.elkamondo.models.TodoList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoBatchTest {
+
+    @DisplayName("Apply a script of commands")
+    @Test
+    void runScript() throws IOException {
+        final TodoList todos = new TodoList();
+        todos.add(new Todo("T1", "Pay the bills", false, LocalDateTime.now()));
+        todos.add(new Todo("T2", "Pay the rent", false, LocalDateTime.now()));
+        todos.add(new Todo("T3", "Write a report", true, LocalDateTime.now()));
+
+        final String script = String.join("\n",
+                "# Comments and blank lines are skipped",
+                "",
+                "add Book a flight to Rabat",
+                "complete T1",
+                "uncomplete T3",
+                "rename T2 Pay the rent, twice",
+                "remove T3",
+                "complete T9",
+                "rename T1",
+                "add",
+                "archive T1");
+
+        final AtomicInteger flushes = new AtomicInteger();
+        final ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        final TodoBatch batch = new TodoBatch(todos, 3, flushes::incrementAndGet, new PrintStream(errors, true));
+
+        final TodoBatch.Result result = batch.run(new BufferedReader(new StringReader(script)));
+
+        assertEquals(9, result.getCommands());
+        assertEquals(4, result.getFailed());
+        assertEquals(4, flushes.get(), "Should flush every 3 commands and at the end");
+        assertTrue(result.toString().startsWith("Applied 5 of 9 commands"));
+
+        assertEquals(3, todos.getAllTodos().size());
+        assertTrue(todos.getTodo("T1").get().isCompleted());
+        assertEquals("Pay the rent, twice", todos.getTodo("T2").get().getName());
+        assertFalse(todos.getTodo("T3").isPresent());
+        assertEquals(1, todos.search("rabat").size());
+
+        final String[] errorLines = errors.toString().split(System.lineSeparator());
+        assertEquals(4, errorLines.length);
+        assertEquals("Line 8: There is no todo associated with the id 'T9'.", errorLines[0]);
+        assertEquals("Line 9: The todo's new name is missing.", errorLines[1]);
+        assertEquals("Line 10: The todo's name is missing.", errorLines[2]);
+        assertEquals("Line 11: Unknown command 'archive'.", errorLines[3]);
+
+        assertThrows(IllegalArgumentException.class, () -> new TodoBatch(todos, 0, () -> {}, System.err));
+    }
+
+    @DisplayName("Refer to the todos added by the script")
+    @Test
+    void backReferences() throws IOException {
+        final TodoList todos = new TodoList();
+        todos.add(new Todo("T1", "Pay the bills", false, LocalDateTime.now()));
+
+        final String script = String.join("\n",
+                "complete $",
+                "add Book a flight",
+                "add Pack the bags",
+                "add Call a taxi",
+                "complete $1",
+                "rename $2 Pack the big bags",
+                "remove $",
+                "complete $4",
+                "complete T1");
+
+        final ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        final TodoBatch.Result result = new TodoBatch(todos, 100, () -> {}, new PrintStream(errors, true))
+                .run(new BufferedReader(new StringReader(script)));
+
+        assertEquals(2, result.getFailed());
+        assertEquals(3, todos.getAllTodos().size());
+        assertEquals(2, todos.getCompletedTodos().size());
+        assertTrue(todos.search("flight").get(0).isCompleted());
+        assertEquals(1, todos.search("big bags").size());
+        assertTrue(todos.search("taxi").isEmpty());
+
+        final String[] errorLines = errors.toString().split(System.lineSeparator());
+        assertEquals("Line 1: There is no todo associated with the id '$'.", errorLines[0]);
+        assertEquals("Line 8: There is no todo associated with the id '$4'.", errorLines[1]);
+    }
+
+}
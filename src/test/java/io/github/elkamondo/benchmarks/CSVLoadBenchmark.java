@@ -0,0 +1,71 @@
+package io.github.elkamondo.benchmarks;
+
+import io.github.elkamondo.exceptions.FileNameNotValidException;
+import io.github.elkamondo.models.Todo;
+import io.github.elkamondo.utils.reports.ParallelTodoCSVReporter;
+import io.github.elkamondo.utils.reports.TodoCSVReporter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the sequential and the parallel CSV load paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CSVLoadBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int size;
+
+    private Path file;
+
+    private final TodoCSVReporter sequentialReporter = new TodoCSVReporter();
+    private final TodoCSVReporter parallelReporter = new ParallelTodoCSVReporter();
+
+    @Setup
+    public void setUp() throws IOException, FileNameNotValidException {
+        final List<Todo> todos = new ArrayList<>(size);
+        final LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            todos.add(new Todo(String.format("%08x", i), "Todo number " + i, i % 2 == 0, now, i % 2 == 0 ? now : null));
+        }
+
+        file = Files.createTempFile("todos-benchmark", ".csv");
+        sequentialReporter.save(todos, file.toString());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long sequentialLoad(Blackhole blackhole) throws IOException, FileNameNotValidException {
+        return sequentialReporter.load(file.toString(), blackhole::consume);
+    }
+
+    @Benchmark
+    public long parallelLoad(Blackhole blackhole) throws IOException, FileNameNotValidException {
+        return parallelReporter.load(file.toString(), blackhole::consume);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CSVLoadBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
@@ -0,0 +1,93 @@
+package io.github.elkamondo.benchmarks;
+
+import io.github.elkamondo.models.ConcurrentTodoList;
+import io.github.elkamondo.models.Todo;
+import io.github.elkamondo.models.TodoList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a mixed workload on a shared list: a lock-protected
+ * {@link TodoList} against {@link ConcurrentTodoList}. Run it with several
+ * thread counts, for example {@code -t 1}, {@code -t 4} and {@code -t 8},
+ * to see how each one scales.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ConcurrentTodoListBenchmark {
+
+    private static final int SIZE = 100_000;
+
+    private final String[] ids = new String[SIZE];
+    private final TodoList lockedList = new TodoList();
+    private final ConcurrentTodoList concurrentList = new ConcurrentTodoList();
+
+    @Setup
+    public void setUp() {
+        final LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < SIZE; i++) {
+            ids[i] = String.format("%08x", i);
+            final Todo todo = new Todo(ids[i], "Todo number " + i, false, now);
+            lockedList.add(todo);
+            concurrentList.add(todo);
+        }
+    }
+
+    @Benchmark
+    public boolean lockedMixed() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final String id = ids[random.nextInt(SIZE)];
+        synchronized (lockedList) {
+            return mutate(random.nextInt(4), id, lockedList);
+        }
+    }
+
+    @Benchmark
+    public boolean concurrentMixed() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final String id = ids[random.nextInt(SIZE)];
+        switch (random.nextInt(4)) {
+            case 0:
+                return concurrentList.completeTodo(id);
+            case 1:
+                return concurrentList.unCompleteTodo(id);
+            case 2:
+                return concurrentList.renameTodo(id, "Renamed");
+            default:
+                return concurrentList.getTodo(id).isPresent();
+        }
+    }
+
+    private static boolean mutate(int operation, String id, TodoList todoList) {
+        switch (operation) {
+            case 0:
+                return todoList.completeTodo(id);
+            case 1:
+                return todoList.unCompleteTodo(id);
+            case 2:
+                return todoList.renameTodo(id, "Renamed");
+            default:
+                return todoList.getTodo(id).isPresent();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[]{1, 2, 4, 8}) {
+            new Runner(new OptionsBuilder()
+                    .include(ConcurrentTodoListBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build()).run();
+        }
+    }
+
+}
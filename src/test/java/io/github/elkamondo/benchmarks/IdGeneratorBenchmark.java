@@ -0,0 +1,70 @@
+package io.github.elkamondo.benchmarks;
+
+import io.github.elkamondo.models.Todo;
+import io.github.elkamondo.models.TodoList;
+import io.github.elkamondo.utils.IdGenerator;
+import io.github.elkamondo.utils.IdGenerators;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ids generated per second by each {@link IdGenerator}, against the
+ * UUID-based generation they replace.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    private final IdGenerator random = IdGenerators.random(IdGenerators.DEFAULT_LENGTH);
+    private final IdGenerator sequence = IdGenerators.sequence(0, 16);
+    private final IdGenerator timeOrdered = IdGenerators.timeOrdered();
+
+    private TodoList todoList;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        todoList = new TodoList();
+    }
+
+    @Benchmark
+    public String uuid() {
+        return UUID.randomUUID().toString().replaceAll("-", "").substring(0, 8);
+    }
+
+    @Benchmark
+    public String random() {
+        return random.nextId();
+    }
+
+    @Benchmark
+    public String sequence() {
+        return sequence.nextId();
+    }
+
+    @Benchmark
+    public String timeOrdered() {
+        return timeOrdered.nextId();
+    }
+
+    @Benchmark
+    public Todo create() {
+        final Todo todo = todoList.create("Created todo");
+        // Keeps the list small, so the measure isn't dominated by its growth
+        todoList.removeTodo(todo.getId());
+        return todo;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(IdGeneratorBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
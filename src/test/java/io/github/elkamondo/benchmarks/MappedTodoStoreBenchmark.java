@@ -0,0 +1,82 @@
+package io.github.elkamondo.benchmarks;
+
+import io.github.elkamondo.exceptions.FileNameNotValidException;
+import io.github.elkamondo.models.Todo;
+import io.github.elkamondo.utils.reports.MappedTodoStore;
+import io.github.elkamondo.utils.reports.TodoBinaryReporter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures opening a mapped binary store and querying it without loading it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MappedTodoStoreBenchmark {
+
+    @Param({"1000000"})
+    private int size;
+
+    private Path file;
+    private MappedTodoStore store;
+    private String lookedUpId;
+
+    @Setup
+    public void setUp() throws IOException, FileNameNotValidException {
+        final List<Todo> todos = new ArrayList<>(size);
+        final LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            todos.add(new Todo(String.format("%08x", i), "Todo number " + i, i % 2 == 0, now));
+        }
+
+        file = Files.createTempFile("todos-benchmark", TodoBinaryReporter.FILE_EXTENSION);
+        new TodoBinaryReporter().save(todos, file.toString());
+
+        store = MappedTodoStore.open(file.toString());
+        lookedUpId = String.format("%08x", size / 3);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        store.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int open() throws IOException, FileNameNotValidException {
+        try (MappedTodoStore opened = MappedTodoStore.open(file.toString())) {
+            return opened.size();
+        }
+    }
+
+    @Benchmark
+    public Optional<MappedTodoStore.MappedTodo> findById() {
+        return store.findById(lookedUpId);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int countCompleted() {
+        return store.getCompletedTodos().size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MappedTodoStoreBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
@@ -0,0 +1,93 @@
+package io.github.elkamondo.benchmarks;
+
+import io.github.elkamondo.exceptions.FileNameNotValidException;
+import io.github.elkamondo.models.Todo;
+import io.github.elkamondo.utils.reports.ShardedTodoReporter;
+import io.github.elkamondo.utils.reports.TodoCSVReporter;
+import io.github.elkamondo.utils.reports.TodoReporter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves and loads a CSV store split in {@code shards} files: a save after
+ * a single change only rewrites one shard, a full save rewrites them all.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ShardedTodoReporterBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    @Param({"1", "8", "32"})
+    private int shards;
+
+    private List<Todo> todos;
+    private Path directory;
+    private String filename;
+    private TodoReporter reporter;
+
+    @Setup
+    public void setUp() throws IOException, FileNameNotValidException {
+        todos = new ArrayList<>(size);
+        final LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            todos.add(new Todo(String.format("%08x", i), "Todo number " + i, i % 2 == 0, now, i % 2 == 0 ? now : null));
+        }
+
+        directory = Files.createTempDirectory("todos-benchmark");
+        filename = directory.resolve("todos.csv").toString();
+        reporter = new ShardedTodoReporter(new TodoCSVReporter(), shards);
+        reporter.save(todos, filename);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public boolean saveAll() throws IOException, FileNameNotValidException {
+        // A new reporter doesn't know the shards, so it rewrites them all
+        return new ShardedTodoReporter(new TodoCSVReporter(), shards).save(todos, filename);
+    }
+
+    @Benchmark
+    public boolean saveOneChange() throws IOException, FileNameNotValidException {
+        final Todo todo = todos.get(ThreadLocalRandom.current().nextInt(size));
+        todo.setComplete(!todo.isCompleted());
+        return reporter.save(todos, filename);
+    }
+
+    @Benchmark
+    public long load(Blackhole blackhole) throws IOException, FileNameNotValidException {
+        return reporter.load(filename, blackhole::consume);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ShardedTodoReporterBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
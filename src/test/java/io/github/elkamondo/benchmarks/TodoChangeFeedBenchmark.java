@@ -0,0 +1,89 @@
+package io.github.elkamondo.benchmarks;
+
+import io.github.elkamondo.models.Todo;
+import io.github.elkamondo.models.TodoChangeFeed;
+import io.github.elkamondo.models.TodoEvent;
+import io.github.elkamondo.models.TodoList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a change to a {@link TodoList} with a {@link TodoChangeFeed}
+ * attached, whether its subscribers keep up or never request anything.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TodoChangeFeedBenchmark {
+
+    @Param({"100000"})
+    private int size;
+
+    @Param({"0", "1", "8"})
+    private int subscribers;
+
+    @Param({"true", "false"})
+    private boolean stalled;
+
+    private String[] ids;
+    private TodoList todoList;
+    private TodoChangeFeed feed;
+
+    @Setup
+    public void setUp() {
+        ids = new String[size];
+        todoList = new TodoList();
+        for (int i = 0; i < size; i++) {
+            ids[i] = String.format("%08x", i);
+            todoList.add(new Todo(ids[i], "Todo number " + i, false, LocalDateTime.now()));
+        }
+
+        feed = TodoChangeFeed.attach(todoList);
+        for (int i = 0; i < subscribers; i++) {
+            feed.subscribe(new Flow.Subscriber<List<TodoEvent>>() {
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    if (!stalled) {
+                        subscription.request(Long.MAX_VALUE);
+                    }
+                }
+
+                @Override
+                public void onNext(List<TodoEvent> batch) {}
+
+                @Override
+                public void onError(Throwable throwable) {}
+
+                @Override
+                public void onComplete() {}
+            });
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        feed.close();
+    }
+
+    @Benchmark
+    public boolean completeThenUnComplete() {
+        final String id = ids[ThreadLocalRandom.current().nextInt(size)];
+        return todoList.completeTodo(id) && todoList.unCompleteTodo(id);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TodoChangeFeedBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
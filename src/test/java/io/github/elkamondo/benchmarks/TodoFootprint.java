@@ -0,0 +1,39 @@
+package io.github.elkamondo.benchmarks;
+
+import io.github.elkamondo.models.Todo;
+
+import java.time.LocalDateTime;
+
+/**
+ * Prints the heap taken by a completed todo, its name excepted. Run it
+ * with a fixed heap, e.g. {@code -Xms2g -Xmx2g}, for stable numbers.
+ */
+public class TodoFootprint {
+
+    private static final int COUNT = 1_000_000;
+
+    public static void main(String[] args) {
+        // Shared by every todo, so it isn't counted
+        final String name = "Todo";
+        final Todo[] todos = new Todo[COUNT];
+
+        final long before = usedMemory();
+        for (int i = 0; i < COUNT; i++) {
+            final LocalDateTime createdAt = LocalDateTime.now();
+            todos[i] = new Todo(String.format("%08x", i), name, true, createdAt, createdAt.plusMinutes(i));
+        }
+        final long after = usedMemory();
+
+        System.out.printf("%d bytes per todo%n", (after - before) / COUNT);
+        System.out.println(todos[COUNT - 1].getId());
+    }
+
+    private static long usedMemory() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
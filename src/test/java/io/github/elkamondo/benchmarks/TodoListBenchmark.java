@@ -0,0 +1,137 @@
+package io.github.elkamondo.benchmarks;
+
+import io.github.elkamondo.models.Todo;
+import io.github.elkamondo.models.TodoList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot paths of {@link TodoList}: bulk loading, id-based changes and
+ * scanning the active and completed views.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TodoListBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int size;
+
+    private List<Todo> todos;
+    private String[] ids;
+    private TodoList todoList;
+
+    private LocalDateTime rangeStart;
+    private LocalDateTime rangeEnd;
+
+    @Setup
+    public void setUp() {
+        todos = new ArrayList<>(size);
+        ids = new String[size];
+
+        // One todo created per second, the even ones completed an hour later
+        final LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0);
+        for (int i = 0; i < size; i++) {
+            ids[i] = String.format("%08x", i);
+            final LocalDateTime createdAt = start.plusSeconds(i);
+            todos.add(new Todo(ids[i], "Todo number " + i, i % 2 == 0, createdAt, i % 2 == 0 ? createdAt.plusHours(1) : null));
+        }
+
+        todoList = new TodoList(todos);
+
+        // A window holding 1% of the todos
+        rangeStart = start.plusSeconds(size / 2);
+        rangeEnd = rangeStart.plusSeconds(Math.max(1, size / 100));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public TodoList addAll() {
+        final TodoList list = new TodoList();
+        list.addAll(todos);
+        return list;
+    }
+
+    @Benchmark
+    public boolean addThenRemove() {
+        // Removing the todo again keeps the size of the list stable across invocations
+        todoList.add(new Todo("ffffffff", "Added todo", false, null));
+        return todoList.removeTodo("ffffffff");
+    }
+
+    @Benchmark
+    public boolean completeThenUnComplete() {
+        final String id = randomId();
+        return todoList.completeTodo(id) && todoList.unCompleteTodo(id);
+    }
+
+    @Benchmark
+    public boolean rename() {
+        return todoList.renameTodo(randomId(), "Renamed todo");
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void iterateActiveTodos(Blackhole blackhole) {
+        for (Todo todo : todoList.getActiveTodos()) {
+            blackhole.consume(todo);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void iterateCompletedTodos(Blackhole blackhole) {
+        for (Todo todo : todoList.getCompletedTodos()) {
+            blackhole.consume(todo);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int countTodosCreatedBetween() {
+        return todoList.countTodosCreatedBetween(rangeStart, rangeEnd);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int scanTodosCreatedBetween() {
+        final long from = rangeStart.toEpochSecond(ZoneOffset.UTC);
+        final long to = rangeEnd.toEpochSecond(ZoneOffset.UTC);
+
+        int count = 0;
+        for (Todo todo : todoList.getAllTodos()) {
+            final long createdAt = todo.getCreatedAtEpochSecond();
+            if (createdAt >= from && createdAt < to) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public List<Todo> recentlyCompletedTodos() {
+        return todoList.getRecentlyCompletedTodos(10);
+    }
+
+    private String randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(size)];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TodoListBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
@@ -0,0 +1,74 @@
+package io.github.elkamondo.benchmarks;
+
+import io.github.elkamondo.exceptions.FileNameNotValidException;
+import io.github.elkamondo.models.Todo;
+import io.github.elkamondo.utils.reports.TodoBinaryReporter;
+import io.github.elkamondo.utils.reports.TodoReporter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares saving and loading with the CSV, gzipped CSV and binary reporters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TodoReporterBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"csv", "csv.gz", "binary"})
+    private String format;
+
+    private List<Todo> todos;
+    private TodoReporter reporter;
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException, FileNameNotValidException {
+        todos = new ArrayList<>(size);
+        final LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            todos.add(new Todo(String.format("%08x", i), "Todo number " + i, i % 2 == 0, now, i % 2 == 0 ? now : null));
+        }
+
+        file = Files.createTempFile("todos-benchmark", "binary".equals(format) ? TodoBinaryReporter.FILE_EXTENSION : "." + format);
+        reporter = TodoReporter.forFileName(file.toString());
+        reporter.save(todos, file.toString());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public boolean save() throws IOException, FileNameNotValidException {
+        return reporter.save(todos, file.toString());
+    }
+
+    @Benchmark
+    public long load(Blackhole blackhole) throws IOException, FileNameNotValidException {
+        return reporter.load(file.toString(), blackhole::consume);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TodoReporterBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
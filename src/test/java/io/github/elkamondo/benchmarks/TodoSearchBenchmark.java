@@ -0,0 +1,78 @@
+package io.github.elkamondo.benchmarks;
+
+import io.github.elkamondo.models.Todo;
+import io.github.elkamondo.models.TodoList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Name searches through the inverted index of {@link TodoList}, against
+ * scanning every todo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TodoSearchBenchmark {
+
+    private static final String[] VERBS = {"pay", "call", "write", "review", "fix", "book", "clean", "buy", "plan", "send"};
+
+    @Param({"1000000"})
+    private int size;
+
+    private TodoList todoList;
+
+    @Setup
+    public void setUp() {
+        todoList = new TodoList();
+
+        // Names made of a common verb and two rarer words
+        final Random random = new Random(42);
+        final LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            final String name = VERBS[random.nextInt(VERBS.length)]
+                    + " item" + random.nextInt(100_000) + " topic" + random.nextInt(1_000);
+            todoList.add(new Todo(String.format("%08x", i), name, false, now));
+        }
+    }
+
+    @Benchmark
+    public List<Todo> singleWord() {
+        return todoList.search("item4242");
+    }
+
+    @Benchmark
+    public List<Todo> prefix() {
+        return todoList.search("item424");
+    }
+
+    @Benchmark
+    public List<Todo> commonAndRareWords() {
+        return todoList.search("pay topic42");
+    }
+
+    @Benchmark
+    public int scan() {
+        int matches = 0;
+        for (Todo todo : todoList.getAllTodos()) {
+            if (todo.getName().contains("item4242")) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TodoSearchBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
@@ -0,0 +1,227 @@
+package io.github.elkamondo.benchmarks;
+
+import io.github.elkamondo.models.TodoList;
+import io.github.elkamondo.server.TodoServer;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * Drives a {@link TodoServer} from a few keep-alive connections, each one
+ * sending its requests in pipelined batches, and reports the latency
+ * percentiles and the throughput. Nine requests out of ten read a todo, the
+ * others complete one.
+ *
+ * <p>A request's latency runs from the moment its batch is written to the
+ * moment its response is read.
+ */
+public class TodoServerLoadGenerator {
+
+    private final InetSocketAddress address;
+    private final List<String> todoIds;
+
+    public TodoServerLoadGenerator(InetSocketAddress address, List<String> todoIds) {
+        this.address = address;
+        this.todoIds = todoIds;
+    }
+
+    public static void main(String[] args) throws Exception {
+        final int connections = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        final int pipelineDepth = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        final int requestsPerConnection = args.length > 2 ? Integer.parseInt(args[2]) : 50_000;
+
+        final TodoList todos = new TodoList();
+        final List<String> todoIds = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            todoIds.add(todos.create("Todo " + i).getId());
+        }
+
+        try (TodoServer server = TodoServer.start(new InetSocketAddress("localhost", 0), todos,
+                TodoServer.DEFAULT_MAX_CONCURRENT_REQUESTS)) {
+            final TodoServerLoadGenerator generator = new TodoServerLoadGenerator(server.getAddress(), todoIds);
+
+            // Warm up the server first
+            generator.run(connections, pipelineDepth, requestsPerConnection / 10);
+            System.out.println(generator.run(connections, pipelineDepth, requestsPerConnection));
+        }
+    }
+
+    public Report run(int connections, int pipelineDepth, int requestsPerConnection) throws Exception {
+        final ExecutorService clients = Executors.newFixedThreadPool(connections);
+        try {
+            final long start = System.nanoTime();
+
+            final List<Future<long[]>> results = new ArrayList<>();
+            for (int i = 0; i < connections; i++) {
+                final long seed = i;
+                results.add(clients.submit(() -> drive(new Random(seed), pipelineDepth, requestsPerConnection)));
+            }
+
+            final long[] latencies = new long[connections * requestsPerConnection];
+            int offset = 0;
+            for (Future<long[]> result : results) {
+                final long[] connectionLatencies = result.get();
+                System.arraycopy(connectionLatencies, 0, latencies, offset, connectionLatencies.length);
+                offset += connectionLatencies.length;
+            }
+
+            return new Report(latencies, System.nanoTime() - start);
+        } finally {
+            clients.shutdown();
+        }
+    }
+
+    // Returns the latency of each request, negative for the ones that failed
+    private long[] drive(Random random, int pipelineDepth, int requests) throws IOException {
+        final long[] latencies = new long[requests];
+
+        try (Socket socket = new Socket(address.getAddress(), address.getPort())) {
+            socket.setTcpNoDelay(true);
+            final OutputStream out = socket.getOutputStream();
+            final InputStream in = new BufferedInputStream(socket.getInputStream());
+            final StringBuilder batch = new StringBuilder();
+
+            for (int sent = 0; sent < requests; ) {
+                final int size = Math.min(pipelineDepth, requests - sent);
+
+                batch.setLength(0);
+                for (int i = 0; i < size; i++) {
+                    final String todoId = todoIds.get(random.nextInt(todoIds.size()));
+                    if (random.nextInt(10) == 0) {
+                        batch.append("POST /todos/").append(todoId).append("/complete HTTP/1.1\r\n")
+                             .append("Host: localhost\r\nContent-Length: 0\r\n\r\n");
+                    } else {
+                        batch.append("GET /todos/").append(todoId).append(" HTTP/1.1\r\n")
+                             .append("Host: localhost\r\n\r\n");
+                    }
+                }
+
+                final long batchStart = System.nanoTime();
+                out.write(batch.toString().getBytes(US_ASCII));
+                out.flush();
+
+                for (int i = 0; i < size; i++) {
+                    final int status = readResponse(in);
+                    final long latency = System.nanoTime() - batchStart;
+                    latencies[sent + i] = status == 200 ? latency : -latency;
+                }
+                sent += size;
+            }
+        }
+
+        return latencies;
+    }
+
+    // Reads a whole response and returns its status code
+    private static int readResponse(InputStream in) throws IOException {
+        final String statusLine = readLine(in);
+        final int status = Integer.parseInt(statusLine.substring(9, 12));
+
+        long contentLength = 0;
+        String header;
+        while (!(header = readLine(in)).isEmpty()) {
+            if (header.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                contentLength = Long.parseLong(header.substring(15).trim());
+            }
+        }
+
+        while (contentLength > 0) {
+            final long skipped = in.skip(contentLength);
+            if (skipped <= 0 && in.read() < 0) {
+                throw new EOFException("The connection was closed in the middle of a response.");
+            }
+            contentLength -= Math.max(skipped, 1);
+        }
+        return status;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        final StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != '\n') {
+            if (c < 0) {
+                throw new EOFException("The connection was closed in the middle of a response.");
+            }
+            if (c != '\r') {
+                line.append((char) c);
+            }
+        }
+        return line.toString();
+    }
+
+    public static class Report {
+
+        private final int requests;
+        private final int errors;
+        private final long p50Nanos;
+        private final long p99Nanos;
+        private final long elapsedNanos;
+
+        Report(long[] latencies, long elapsedNanos) {
+            int errors = 0;
+            for (int i = 0; i < latencies.length; i++) {
+                if (latencies[i] < 0) {
+                    errors++;
+                    latencies[i] = -latencies[i];
+                }
+            }
+            Arrays.sort(latencies);
+
+            this.requests = latencies.length;
+            this.errors = errors;
+            this.p50Nanos = percentile(latencies, 50);
+            this.p99Nanos = percentile(latencies, 99);
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        private static long percentile(long[] sortedLatencies, int percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            return sortedLatencies[(int) Math.ceil(sortedLatencies.length * percentile / 100.0) - 1];
+        }
+
+        public int getRequests() {
+            return requests;
+        }
+
+        public int getErrors() {
+            return errors;
+        }
+
+        public long getP50Nanos() {
+            return p50Nanos;
+        }
+
+        public long getP99Nanos() {
+            return p99Nanos;
+        }
+
+        public double requestsPerSecond() {
+            return elapsedNanos > 0 ? requests * 1e9 / elapsedNanos : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d requests (%d errors) in %d ms: %.0f requests/s, p50 %d us, p99 %d us.",
+                    requests, errors, elapsedNanos / 1_000_000, requestsPerSecond(),
+                    p50Nanos / 1_000, p99Nanos / 1_000);
+        }
+
+    }
+
+}
@@ -0,0 +1,95 @@
+package io.github.elkamondo.benchmarks;
+
+import io.github.elkamondo.models.Todo;
+import io.github.elkamondo.models.TodoList;
+import io.github.elkamondo.models.TodoStore;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.BitSet;
+import java.util.LongSummaryStatistics;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk scans over the columnar {@link TodoStore}, against walking the
+ * todos of a {@link TodoList}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TodoStoreBenchmark {
+
+    @Param({"1000000", "10000000"})
+    private int size;
+
+    private TodoList todoList;
+    private TodoStore store;
+
+    private long from;
+    private long to;
+
+    @Setup
+    public void setUp() {
+        todoList = new TodoList();
+
+        final LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0);
+        for (int i = 0; i < size; i++) {
+            final boolean completed = i % 3 == 0;
+            todoList.add(new Todo(String.format("%08x", i), "Todo number " + i, completed,
+                    start.plusSeconds(i), completed ? start.plusSeconds(2L * i) : null));
+        }
+
+        store = TodoStore.from(todoList);
+
+        from = start.plusSeconds(size / 4).toEpochSecond(ZoneOffset.UTC);
+        to = start.plusSeconds(size / 2).toEpochSecond(ZoneOffset.UTC);
+    }
+
+    @Benchmark
+    public BitSet storeActiveTodos() {
+        return store.activeTodos();
+    }
+
+    @Benchmark
+    public int storeCountCreatedBetween() {
+        return store.countCreatedBetween(from, to);
+    }
+
+    @Benchmark
+    public LongSummaryStatistics storeCompletionLatency() {
+        return store.completionLatency();
+    }
+
+    @Benchmark
+    public int listCountCreatedBetween() {
+        int count = 0;
+        for (Todo todo : todoList.getAllTodos()) {
+            final long time = todo.getCreatedAtEpochSecond();
+            if (time >= from && time < to) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public LongSummaryStatistics listCompletionLatency() {
+        final LongSummaryStatistics statistics = new LongSummaryStatistics();
+        for (Todo todo : todoList.getCompletedTodos()) {
+            statistics.accept(todo.getCompletedAtEpochSecond() - todo.getCreatedAtEpochSecond());
+        }
+        return statistics;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TodoStoreBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
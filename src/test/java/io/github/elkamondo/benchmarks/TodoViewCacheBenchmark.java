@@ -0,0 +1,80 @@
+package io.github.elkamondo.benchmarks;
+
+import io.github.elkamondo.models.Todo;
+import io.github.elkamondo.models.TodoList;
+import io.github.elkamondo.utils.TodoTableWriter;
+import io.github.elkamondo.utils.TodoViewCache;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redrawing a page or a search result of the menu, rendered from the list
+ * every time or taken from a {@link TodoViewCache} while nothing changes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TodoViewCacheBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "1000000"})
+    private int size;
+
+    private TodoList todoList;
+    private TodoViewCache cache;
+
+    private final StringWriter buffer = new StringWriter();
+    private final TodoTableWriter table = new TodoTableWriter(new PrintWriter(buffer));
+
+    @Setup
+    public void setUp() {
+        todoList = new TodoList();
+        for (int i = 0; i < size; i++) {
+            todoList.add(new Todo(String.format("%08x", i), "Todo number " + i, i % 2 == 0, LocalDateTime.now()));
+        }
+        cache = new TodoViewCache(todoList, 10_000);
+    }
+
+    @Benchmark
+    public String renderActivePage() {
+        return render(todoList.getPageAfter(TodoList.View.ACTIVE, null, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public String cachedActivePage() {
+        return cache.getPageAfter(TodoList.View.ACTIVE, null, PAGE_SIZE).getTable();
+    }
+
+    @Benchmark
+    public String renderSearch() {
+        return render(todoList.search("number 12345"));
+    }
+
+    @Benchmark
+    public String cachedSearch() {
+        return cache.search("number 12345").getTable();
+    }
+
+    private String render(Iterable<Todo> todos) {
+        buffer.getBuffer().setLength(0);
+        table.writeTable(todos);
+        table.flush();
+        return buffer.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TodoViewCacheBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
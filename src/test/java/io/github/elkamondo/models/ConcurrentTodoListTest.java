@@ -0,0 +1,177 @@
+package io.github.elkamondo.models;
+
+import io.github.elkamondo.utils.IdGenerators;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentTodoListTest {
+
+    @DisplayName("Change todos like a TodoList")
+    @Test
+    void singleThreaded() {
+        final ConcurrentTodoList todoList = new ConcurrentTodoList(asList(
+                new Todo("T2", "Learn Rust", false, LocalDateTime.now()),
+                new Todo("T1", "Learn Go", true, LocalDateTime.now())
+        ));
+
+        assertFalse(todoList.add(null));
+        assertFalse(todoList.add(new Todo("T1", "Duplicated id", false, LocalDateTime.now())));
+        assertEquals(2, todoList.getAllTodos().size());
+        assertEquals(1, todoList.getActiveTodos().size());
+        assertEquals(1, todoList.getCompletedTodos().size());
+
+        final List<String> ids = new ArrayList<>();
+        todoList.getAllTodos().forEach(todo -> ids.add(todo.getId()));
+        assertEquals(asList("T1", "T2"), ids, "Should iterate in id order");
+
+        assertTrue(todoList.completeTodo("T2"));
+        assertNotNull(todoList.getTodo("T2").map(Todo::getCompletedAt).orElse(null));
+        assertEquals(0, todoList.getActiveTodos().size());
+        assertEquals(2, todoList.getCompletedTodos().size());
+
+        assertTrue(todoList.unCompleteTodo("T1"));
+        assertTrue(todoList.renameTodo("T1", "Learn Go generics"));
+        assertEquals("Learn Go generics", todoList.getTodo("T1").map(Todo::getName).orElse(null));
+        assertFalse(todoList.renameTodo("ABC", "Nothing"));
+        assertFalse(todoList.completeTodo(null));
+
+        assertTrue(todoList.removeTodo("T1"));
+        assertFalse(todoList.removeTodo("T1"));
+        assertFalse(todoList.getTodo("T1").isPresent());
+        assertEquals(1, todoList.getAllTodos().size());
+        assertEquals(0, todoList.getActiveTodos().size());
+        assertFalse(todoList.isEmpty());
+    }
+
+    @DisplayName("Hand out copies of the todos")
+    @Test
+    void snapshots() {
+        final ConcurrentTodoList todoList = new ConcurrentTodoList(asList(
+                new Todo("T1", "Learn Go", false, LocalDateTime.now()),
+                new Todo("T2", "Learn Rust", true, LocalDateTime.now(), LocalDateTime.now())
+        ));
+
+        final Todo todo = todoList.getTodo("T1").orElseThrow();
+        todo.setName("Changed behind the list");
+        todo.setComplete(true);
+        todoList.getAllTodos().forEach(each -> each.setComplete(false));
+        todoList.getCompletedTodos().forEach(each -> each.setName("Changed behind the list"));
+
+        assertEquals("Learn Go", todoList.getTodo("T1").map(Todo::getName).orElse(null));
+        assertFalse(todoList.getTodo("T1").map(Todo::isCompleted).orElse(true));
+        assertEquals("Learn Rust", todoList.getTodo("T2").map(Todo::getName).orElse(null));
+        assertEquals(1, todoList.getCompletedTodos().size());
+        assertEquals(1, count(todoList.getCompletedTodos()), "Should keep the counts in sync");
+
+        assertTrue(todoList.completeTodo("T1"));
+        assertEquals(2, todoList.getCompletedTodos().size());
+        assertEquals(2, count(todoList.getCompletedTodos()));
+    }
+
+    @DisplayName("Add, complete, rename and remove todos from many threads")
+    @Test
+    void stress() throws InterruptedException, ExecutionException {
+        final int threads = 8;
+        final int todosPerThread = 5_000;
+        final ConcurrentTodoList todoList = new ConcurrentTodoList();
+        final AtomicInteger removed = new AtomicInteger();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CyclicBarrier start = new CyclicBarrier(threads);
+        final List<Future<?>> workers = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            workers.add(executor.submit(() -> {
+                start.await();
+                final ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < todosPerThread; i++) {
+                    final String id = String.format("%02d%06d", thread, i);
+                    assertTrue(todoList.add(new Todo(id, "Todo " + i, false, LocalDateTime.now())));
+
+                    // Change todos added by any thread, including ones being changed concurrently
+                    final String otherId = String.format("%02d%06d", random.nextInt(threads), random.nextInt(i + 1));
+                    switch (random.nextInt(4)) {
+                        case 0:
+                            todoList.completeTodo(otherId);
+                            break;
+                        case 1:
+                            todoList.unCompleteTodo(otherId);
+                            break;
+                        case 2:
+                            todoList.renameTodo(otherId, "Renamed by " + thread);
+                            break;
+                        default:
+                            if (i % 10 == 0 && todoList.removeTodo(otherId)) {
+                                removed.incrementAndGet();
+                            }
+                    }
+
+                    // Iterating while others change the list must not fail
+                    if (i % 1_000 == 0) {
+                        todoList.getCompletedTodos().forEach(todo -> assertTrue(todo.isCompleted()));
+                    }
+                }
+                return null;
+            }));
+        }
+
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        executor.shutdown();
+
+        final int expectedSize = threads * todosPerThread - removed.get();
+        assertEquals(expectedSize, todoList.getAllTodos().size());
+        assertEquals(expectedSize, count(todoList.getAllTodos()));
+
+        assertEquals(count(todoList.getCompletedTodos()), todoList.getCompletedTodos().size());
+        assertEquals(count(todoList.getActiveTodos()), todoList.getActiveTodos().size());
+
+        todoList.getCompletedTodos().forEach(todo -> assertNotNull(todo.getCompletedAt()));
+        todoList.getActiveTodos().forEach(todo -> assertNull(todo.getCompletedAt()));
+    }
+
+    private static int count(Collection<? extends Todo> todos) {
+        int count = 0;
+        for (Todo ignored : todos) {
+            count++;
+        }
+        return count;
+    }
+
+    @DisplayName("Create todos with unused ids from many threads")
+    @Test
+    void createTodos() throws Exception {
+        // A 2-digit sequence that starts on ids already in use
+        final ConcurrentTodoList todoList = new ConcurrentTodoList(IdGenerators.sequence(0, 2));
+        todoList.add(new Todo("00", "Existing todo", false, LocalDateTime.now()));
+        todoList.add(new Todo("01", "Existing todo", false, LocalDateTime.now()));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Todo>> created = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                created.add(executor.submit(() -> todoList.create("Created todo")));
+            }
+            for (Future<Todo> todo : created) {
+                assertNotNull(todo.get().getId());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(202, todoList.getAllTodos().size());
+    }
+
+}
@@ -0,0 +1,197 @@
+package io.github.elkamondo.models;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoChangeFeedTest {
+
+    @DisplayName("Publish the changes in batches, as requested")
+    @Test
+    void publishChanges() {
+        final TodoList todos = new TodoList();
+        final ManualExecutor executor = new ManualExecutor();
+        final TodoChangeFeed feed = TodoChangeFeed.attach(todos, executor, 2);
+
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        feed.subscribe(subscriber);
+
+        todos.add(new Todo("T1", "Pay the bills", false, LocalDateTime.now()));
+        todos.add(new Todo("T2", "Pay the rent", false, LocalDateTime.now()));
+        todos.add(new Todo("T3", "Write a report", false, LocalDateTime.now()));
+        executor.runAll();
+        assertTrue(subscriber.batches.isEmpty(), "Nothing should be delivered before it is requested");
+
+        subscriber.subscription.request(1);
+        executor.runAll();
+        assertEquals(List.of("ADDED T1", "ADDED T2"), describe(subscriber.batches.get(0)));
+
+        subscriber.subscription.request(5);
+        executor.runAll();
+        assertEquals(2, subscriber.batches.size());
+        assertEquals(List.of("ADDED T3"), describe(subscriber.batches.get(1)));
+
+        todos.completeTodo("T1");
+        executor.runAll();
+        assertEquals(List.of("COMPLETED T1"), describe(subscriber.batches.get(2)));
+        assertTrue(subscriber.batches.get(2).get(0).getTodo().isCompleted());
+
+        feed.close();
+        executor.runAll();
+        assertTrue(subscriber.completed);
+        assertEquals(0, feed.getSubscriberCount());
+
+        todos.removeTodo("T1");
+        executor.runAll();
+        assertEquals(3, subscriber.batches.size(), "A closed feed should publish nothing");
+    }
+
+    @DisplayName("Coalesce the changes a subscriber lags behind on")
+    @Test
+    void coalesceChanges() {
+        final TodoList todos = new TodoList();
+        todos.add(new Todo("T1", "Pay the bills", false, LocalDateTime.now()));
+        todos.add(new Todo("T2", "Pay the rent", false, LocalDateTime.now()));
+
+        final ManualExecutor executor = new ManualExecutor();
+        final TodoChangeFeed feed = TodoChangeFeed.attach(todos, executor, 100);
+        final RecordingSubscriber slow = new RecordingSubscriber();
+        feed.subscribe(slow);
+
+        todos.renameTodo("T1", "Pay the bills twice");
+        todos.completeTodo("T1");
+        todos.add(new Todo("T3", "Write a report", false, LocalDateTime.now()));
+        todos.renameTodo("T3", "Write two reports");
+        todos.add(new Todo("T4", "Book a flight", false, LocalDateTime.now()));
+        todos.removeTodo("T4");
+        todos.completeTodo("T2");
+        todos.removeTodo("T2");
+
+        slow.subscription.request(Long.MAX_VALUE);
+        executor.runAll();
+
+        assertEquals(1, slow.batches.size());
+        final List<TodoEvent> events = slow.batches.get(0);
+        assertEquals(List.of("COMPLETED T1", "ADDED T3", "REMOVED T2"), describe(events));
+        assertEquals("Pay the bills twice", events.get(0).getTodo().getName());
+        assertEquals("Write two reports", events.get(1).getTodo().getName());
+    }
+
+    @DisplayName("Replace a todo removed then added again")
+    @Test
+    void replaceChanges() {
+        final TodoList todos = new TodoList();
+        todos.add(new Todo("T1", "Pay the bills", true, LocalDateTime.now(), LocalDateTime.now()));
+        todos.add(new Todo("T2", "Pay the rent", false, LocalDateTime.now()));
+
+        final ManualExecutor executor = new ManualExecutor();
+        final TodoChangeFeed feed = TodoChangeFeed.attach(todos, executor, 100);
+        final RecordingSubscriber slow = new RecordingSubscriber();
+        feed.subscribe(slow);
+
+        todos.removeTodo("T1");
+        todos.add(new Todo("T1", "Call the bank", false, LocalDateTime.now()));
+        todos.renameTodo("T1", "Call the bank twice");
+        todos.removeTodo("T2");
+        todos.add(new Todo("T2", "Pay the new rent", false, LocalDateTime.now()));
+        todos.removeTodo("T2");
+
+        slow.subscription.request(Long.MAX_VALUE);
+        executor.runAll();
+
+        final List<TodoEvent> events = slow.batches.get(0);
+        assertEquals(List.of("REPLACED T1", "REMOVED T2"), describe(events));
+        assertEquals("Call the bank twice", events.get(0).getTodo().getName());
+        assertFalse(events.get(0).getTodo().isCompleted(), "Should not keep the fields of the removed todo");
+    }
+
+    @DisplayName("Don't publish to cancelled subscribers")
+    @Test
+    void cancelSubscription() {
+        final TodoList todos = new TodoList();
+        final ManualExecutor executor = new ManualExecutor();
+        final TodoChangeFeed feed = TodoChangeFeed.attach(todos, executor, 10);
+
+        final RecordingSubscriber cancelled = new RecordingSubscriber();
+        final RecordingSubscriber invalid = new RecordingSubscriber();
+        feed.subscribe(cancelled);
+        feed.subscribe(invalid);
+        assertEquals(2, feed.getSubscriberCount());
+
+        cancelled.subscription.request(10);
+        cancelled.subscription.cancel();
+        invalid.subscription.request(0);
+        assertTrue(invalid.error instanceof IllegalArgumentException);
+        assertEquals(0, feed.getSubscriberCount());
+
+        todos.add(new Todo("T1", "Pay the bills", false, LocalDateTime.now()));
+        executor.runAll();
+        assertTrue(cancelled.batches.isEmpty());
+        assertTrue(invalid.batches.isEmpty());
+    }
+
+    private static List<String> describe(List<TodoEvent> events) {
+        return events.stream()
+                .map(event -> event.getType() + " " + event.getTodoId())
+                .collect(Collectors.toList());
+    }
+
+    // Runs the deliveries when the test asks for it
+    private static class ManualExecutor implements Executor {
+
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+        }
+
+        void runAll() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<List<TodoEvent>> {
+
+        final List<List<TodoEvent>> batches = new ArrayList<>();
+        Flow.Subscription subscription;
+        Throwable error;
+        boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(List<TodoEvent> batch) {
+            batches.add(batch);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+    }
+
+}
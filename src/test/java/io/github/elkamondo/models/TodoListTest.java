@@ -4,8 +4,16 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static java.util.Arrays.asList;
 import static org.junit.jupiter.api.Assertions.*;
@@ -182,4 +190,339 @@ class TodoListTest {
         assertFalse(todoList.renameTodo(null, null));
     }
 
-}
\ No newline at end of file
+    @DisplayName("Look up todos by id")
+    @Test
+    void lookupTodosById() {
+        final Todo todo = new Todo("T1", "Plan the trip", false, LocalDateTime.now());
+        final TodoList todoList = new TodoList(Collections.singletonList(todo));
+
+        assertFalse(todoList.add(new Todo("T1", "Another todo", false, LocalDateTime.now())),
+                "Do not add a todo with an existing id");
+        assertEquals(1, todoList.getAllTodos().size());
+
+        assertTrue(todoList.renameTodo("T1", "Book the hotel"));
+        assertTrue(todoList.completeTodo("T1"));
+        assertTrue(todo.isCompleted());
+
+        assertTrue(todoList.removeTodo("T1"));
+        assertTrue(todoList.isEmpty());
+        assertFalse(todoList.completeTodo("T1"));
+
+        assertTrue(todoList.add(new Todo("T1", "Reuse the id", false, LocalDateTime.now())),
+                "A removed id can be used again");
+    }
+
+    @DisplayName("Active and completed todos are live views")
+    @Test
+    void liveViews() {
+        final TodoList todoList = new TodoList();
+        final Collection<? extends Todo> activeTodos = todoList.getActiveTodos();
+        final Collection<? extends Todo> completedTodos = todoList.getCompletedTodos();
+
+        todoList.add(new Todo("T1", "Water the plants", false, LocalDateTime.now()));
+        todoList.add(new Todo("T2", "Call mom", false, LocalDateTime.now()));
+        assertEquals(2, activeTodos.size());
+        assertEquals(0, completedTodos.size());
+
+        todoList.completeTodo("T1");
+        todoList.completeTodo("T1");
+        assertEquals(1, activeTodos.size());
+        assertEquals(1, completedTodos.size());
+
+        todoList.unCompleteTodo("T1");
+        todoList.removeTodo("T2");
+        assertEquals(1, activeTodos.size());
+        assertEquals(0, completedTodos.size());
+
+        assertThrows(UnsupportedOperationException.class, activeTodos::clear, "Views are read-only");
+    }
+
+    @DisplayName("Notify the listeners of every change")
+    @Test
+    void listeners() {
+        final TodoList todoList = new TodoList();
+        final List<String> events = new ArrayList<>();
+        final TodoListener listener = new TodoListener() {
+            @Override
+            public void todoAdded(Todo todo) {
+                events.add("added " + todo.getId());
+            }
+
+            @Override
+            public void todoCompleted(Todo todo) {
+                events.add("completed " + todo.getId());
+            }
+
+            @Override
+            public void todoUnCompleted(Todo todo) {
+                events.add("uncompleted " + todo.getId());
+            }
+
+            @Override
+            public void todoRenamed(Todo todo) {
+                events.add("renamed " + todo.getId());
+            }
+
+            @Override
+            public void todoRemoved(Todo todo) {
+                events.add("removed " + todo.getId());
+            }
+        };
+        todoList.addListener(listener);
+
+        todoList.add(new Todo("T1", "Pay the bills", false, LocalDateTime.now()));
+        todoList.add(new Todo("T1", "Duplicated id", false, LocalDateTime.now()));
+        todoList.completeTodo("T1");
+        todoList.unCompleteTodo("T1");
+        todoList.renameTodo("T1", "Pay the rent");
+        todoList.completeTodo("ABC");
+        todoList.removeTodo("T1");
+
+        todoList.removeListener(listener);
+        todoList.add(new Todo("T2", "Not notified", false, LocalDateTime.now()));
+
+        assertEquals(asList("added T1", "completed T1", "uncompleted T1", "renamed T1", "removed T1"), events);
+    }
+
+    @DisplayName("Create todos with unused ids")
+    @Test
+    void createTodos() {
+        final Iterator<String> ids = asList("T1", "T1", "T2", "T3").iterator();
+        final TodoList todoList = new TodoList(ids::next);
+
+        final Todo first = todoList.create("Pay the bills");
+        final Todo second = todoList.create("Pay the rent");
+
+        assertEquals("T1", first.getId());
+        assertEquals("T2", second.getId(), "Should skip the id already in use");
+        assertFalse(second.isCompleted());
+        assertEquals(Optional.of(second), todoList.getTodo("T2"));
+
+        final TodoList stuckList = new TodoList(() -> "T1");
+        stuckList.create("Pay the bills");
+        assertThrows(IllegalStateException.class, () -> stuckList.create("Pay the rent"));
+        assertEquals(1, stuckList.getAllTodos().size());
+    }
+
+    @DisplayName("Search todos by the words of their name")
+    @Test
+    void searchTodos() {
+        final TodoList todoList = new TodoList(asList(
+                new Todo("T1", "Pay the bills", false, LocalDateTime.now()),
+                new Todo("T2", "Pay the rent", false, LocalDateTime.now()),
+                new Todo("T3", "Billing report, Q3", true, LocalDateTime.now()),
+                new Todo("T4", null, false, LocalDateTime.now())
+        ));
+
+        assertEquals(asList("T1", "T2"), ids(todoList.search("pay")));
+        assertEquals(asList("T1", "T3"), ids(todoList.search("BILL")), "Should match prefixes, ignoring case");
+        assertEquals(asList("T1"), ids(todoList.search("pay bil")), "Should match every word");
+        assertEquals(asList("T3"), ids(todoList.search("q3, report")));
+        assertEquals(Collections.emptyList(), todoList.search("pay report"));
+        assertEquals(Collections.emptyList(), todoList.search("groceries"));
+        assertEquals(Collections.emptyList(), todoList.search(" ,. "));
+        assertEquals(Collections.emptyList(), todoList.search(null));
+
+        todoList.renameTodo("T2", "Call the landlord");
+        assertEquals(asList("T1"), ids(todoList.search("pay")));
+        assertEquals(asList("T2"), ids(todoList.search("landlord")));
+
+        todoList.removeTodo("T1");
+        assertEquals(Collections.emptyList(), todoList.search("pay"));
+        assertEquals(asList("T3"), ids(todoList.search("bill")));
+
+        todoList.create("Pay the bills again");
+        assertEquals(1, todoList.search("again").size());
+
+        // Deseret letters are outside of the BMP, each one taking two chars
+        todoList.add(new Todo("T5", "Learn \uD801\uDC14\uD801\uDC2F", false, LocalDateTime.now()));
+        assertEquals(asList("T5"), ids(todoList.search("\uD801\uDC3C")), "Should match supplementary letters");
+    }
+
+    @DisplayName("Query todos by creation and completion time")
+    @Test
+    void timeRanges() {
+        final LocalDateTime monday = LocalDateTime.of(2020, 5, 18, 9, 0);
+        final TodoList todoList = new TodoList(asList(
+                new Todo("T1", "Pay the bills", true, monday, monday.plusDays(1)),
+                new Todo("T2", "Pay the rent", false, monday.plusDays(1)),
+                new Todo("T3", "Write a report", false, monday.plusDays(1)),
+                new Todo("T4", "Book a flight", false, monday.plusDays(7)),
+                new Todo("T5", "No creation time", false, null)
+        ));
+
+        assertEquals(asList("T1", "T2", "T3"), ids(todoList.getTodosCreatedBetween(monday, monday.plusDays(7))));
+        assertEquals(asList("T2", "T3"), ids(todoList.getTodosCreatedBetween(monday.plusDays(1), monday.plusDays(1).plusSeconds(1))));
+        assertEquals(4, todoList.countTodosCreatedBetween(monday.minusYears(1), monday.plusYears(1)));
+        assertEquals(0, todoList.countTodosCreatedBetween(monday.plusDays(1), monday));
+        assertEquals(asList("T4", "T3", "T2"), ids(todoList.getRecentlyCreatedTodos(3)));
+        assertEquals(Collections.emptyList(), todoList.getRecentlyCreatedTodos(0));
+        assertThrows(IllegalArgumentException.class, () -> todoList.getRecentlyCreatedTodos(-1));
+        assertThrows(NullPointerException.class, () -> todoList.getTodosCreatedBetween(null, monday));
+
+        assertEquals(asList("T1"), ids(todoList.getTodosCompletedBetween(monday, monday.plusDays(7))));
+
+        // Completing again moves the todo in the completion index
+        todoList.completeTodo("T1", monday.plusDays(5));
+        todoList.completeTodo("T2", monday.plusDays(2));
+        assertEquals(asList("T2", "T1"), ids(todoList.getTodosCompletedBetween(monday, monday.plusDays(7))));
+        assertEquals(0, todoList.countTodosCompletedBetween(monday.plusDays(1), monday.plusDays(2)));
+        assertEquals(asList("T1", "T2"), ids(todoList.getRecentlyCompletedTodos(10)));
+
+        todoList.unCompleteTodo("T1");
+        assertEquals(asList("T2"), ids(todoList.getTodosCompletedBetween(monday, monday.plusDays(7))));
+
+        todoList.removeTodo("T2");
+        assertEquals(0, todoList.countTodosCompletedBetween(monday, monday.plusDays(7)));
+        assertEquals(asList("T1", "T3"), ids(todoList.getTodosCreatedBetween(monday, monday.plusDays(7))));
+
+        final Collection<? extends Todo> view = todoList.getTodosCreatedBetween(monday, monday.plusDays(7));
+        todoList.add(new Todo("T6", "Added later", false, monday.plusDays(3)));
+        assertEquals(asList("T1", "T3", "T6"), ids(view), "Should be a live view");
+        assertThrows(UnsupportedOperationException.class, view::clear);
+    }
+
+    @DisplayName("Page through the todos with a cursor")
+    @Test
+    void pages() {
+        final TodoList todoList = new TodoList();
+        for (int i = 1; i <= 7; i++) {
+            todoList.add(new Todo("T" + i, "Todo " + i, i % 2 == 0, LocalDateTime.now()));
+        }
+
+        final List<Todo> first = todoList.getPageAfter(TodoList.View.ALL, null, 3);
+        assertEquals(asList("T1", "T2", "T3"), ids(first));
+
+        final List<Todo> second = todoList.getPageAfter(TodoList.View.ALL, first.get(2), 3);
+        assertEquals(asList("T4", "T5", "T6"), ids(second));
+        assertEquals(asList("T7"), ids(todoList.getPageAfter(TodoList.View.ALL, second.get(2), 3)));
+        assertEquals(asList("T1", "T2", "T3"), ids(todoList.getPageBefore(TodoList.View.ALL, second.get(0), 3)));
+        assertEquals(asList("T5", "T6", "T7"), ids(todoList.getPageBefore(TodoList.View.ALL, null, 3)));
+        assertEquals(Collections.emptyList(), todoList.getPageBefore(TodoList.View.ALL, first.get(0), 3));
+
+        // A removed cursor still marks where the page starts
+        todoList.removeTodo("T3");
+        assertEquals(asList("T4", "T5"), ids(todoList.getPageAfter(TodoList.View.ALL, first.get(2), 2)));
+
+        assertEquals(asList("T2", "T4", "T6"), ids(todoList.getPageAfter(TodoList.View.COMPLETED, null, 5)));
+        assertEquals(asList("T5", "T7"), ids(todoList.getPageAfter(TodoList.View.ACTIVE, first.get(0), 5)));
+        assertThrows(IllegalArgumentException.class, () -> todoList.getPageAfter(TodoList.View.ALL, null, 0));
+    }
+
+    @DisplayName("Complete, rename and remove many todos at once")
+    @Test
+    void bulkChanges() {
+        final TodoList todoList = new TodoList();
+        for (int i = 1; i <= 6; i++) {
+            todoList.add(new Todo("T" + i, "Todo " + i, false, LocalDateTime.now()));
+        }
+
+        final List<String> events = new ArrayList<>();
+        todoList.addListener(new TodoListener() {
+            @Override
+            public void todoCompleted(Todo todo) {
+                events.add("completed " + todo.getId());
+            }
+
+            @Override
+            public void todoRemoved(Todo todo) {
+                events.add("removed " + todo.getId());
+            }
+        });
+
+        final Map<String, Boolean> completed = todoList.completeAll(asList("T2", "T9", "T1"));
+        assertEquals(asList("T2", "T9", "T1"), new ArrayList<>(completed.keySet()));
+        assertEquals(asList(true, false, true), new ArrayList<>(completed.values()));
+        assertEquals(asList("T1", "T2"), ids(todoList.getCompletedTodos()));
+
+        final Map<String, String> newNames = new LinkedHashMap<>();
+        newNames.put("T3", "Pay the bills");
+        newNames.put("T7", "Unknown todo");
+        assertEquals(asList(true, false), new ArrayList<>(todoList.renameAll(newNames).values()));
+        assertEquals(asList("T3"), ids(todoList.search("bills")));
+
+        assertEquals(asList("T4", "T5"), todoList.completeIf(todo -> todo.getName().startsWith("Todo") && !todo.getId().equals("T6")));
+        assertEquals(Collections.emptyList(), todoList.completeIf(todo -> todo.getId().equals("T1")), "Should only complete active todos");
+        assertEquals(asList("T1", "T2", "T4", "T5"), ids(todoList.getCompletedTodos()));
+
+        final Map<String, Boolean> removed = todoList.removeAll(asList("T4", "T4", "T8"));
+        assertEquals(2, removed.size());
+        assertTrue(removed.get("T4"));
+        assertFalse(removed.get("T8"));
+
+        assertEquals(asList("T1", "T2", "T5"), todoList.removeIf(Todo::isCompleted));
+        assertEquals(asList("T3", "T6"), ids(todoList.getAllTodos()));
+        assertEquals(asList("T3", "T6"), ids(todoList.getActiveTodos()));
+        assertFalse(todoList.getTodo("T1").isPresent());
+        assertEquals(0, todoList.countTodosCompletedBetween(LocalDateTime.MIN, LocalDateTime.MAX));
+
+        assertEquals(asList("completed T2", "completed T1", "completed T4", "completed T5",
+                "removed T4", "removed T1", "removed T2", "removed T5"), events);
+    }
+
+    @DisplayName("Find and remove todos after renaming them")
+    @Test
+    void renameThenLookUp() {
+        final TodoList todoList = new TodoList();
+        for (int i = 0; i < 200; i++) {
+            todoList.add(new Todo(String.format("T%03d", i), "Todo " + i, i % 3 == 0, LocalDateTime.now()));
+        }
+
+        // Names that would sort in a different place than the ids, if names were part of the key
+        for (int i = 0; i < 200; i += 2) {
+            assertTrue(todoList.renameTodo(String.format("T%03d", i), "Renamed " + (1000 - i)));
+        }
+
+        final Set<Todo> hashed = new HashSet<>(todoList.getAllTodos());
+        for (int i = 0; i < 200; i += 2) {
+            final String id = String.format("T%03d", i);
+            final Todo todo = todoList.getTodo(id).get();
+
+            assertTrue(todoList.getAllTodos().contains(todo));
+            assertTrue((i % 3 == 0 ? todoList.getCompletedTodos() : todoList.getActiveTodos()).contains(todo));
+
+            assertTrue(todoList.completeTodo(id));
+            assertTrue(todoList.getCompletedTodos().contains(todo));
+            todoList.renameTodo(id, "Renamed again");
+            assertTrue(hashed.contains(todo), "Should keep the same hash code");
+        }
+
+        for (int i = 0; i < 200; i++) {
+            assertTrue(todoList.removeTodo(String.format("T%03d", i)));
+        }
+
+        assertTrue(todoList.isEmpty());
+        assertTrue(todoList.getActiveTodos().isEmpty());
+        assertTrue(todoList.getCompletedTodos().isEmpty());
+        assertEquals(Collections.emptyList(), todoList.search("renamed"));
+    }
+
+    private static List<String> ids(Collection<? extends Todo> todos) {
+        final List<String> ids = new ArrayList<>();
+        todos.forEach(todo -> ids.add(todo.getId()));
+        return ids;
+    }
+
+    @DisplayName("Count the changes in the version")
+    @Test
+    void version() {
+        final TodoList todoList = new TodoList();
+        assertEquals(0, todoList.getVersion());
+
+        todoList.add(new Todo("T1", "Pay the bills", false, LocalDateTime.now()));
+        todoList.add(new Todo("T1", "Pay the bills", false, LocalDateTime.now()));
+        assertEquals(1, todoList.getVersion(), "A todo that isn't added isn't a change");
+
+        todoList.completeTodo("T1");
+        todoList.unCompleteTodo("T1");
+        todoList.renameTodo("T1", "Pay the rent");
+        todoList.removeTodo("T1");
+        todoList.removeTodo("T1");
+        assertEquals(5, todoList.getVersion());
+
+        todoList.getAllTodos();
+        todoList.search("rent");
+        assertEquals(5, todoList.getVersion(), "Reading isn't a change");
+    }
+
+}
@@ -0,0 +1,102 @@
+package io.github.elkamondo.models;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoStoreTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2020, 5, 17, 10, 30, 15);
+
+    @DisplayName("Build a store from a todo list and back")
+    @Test
+    void roundTrip() {
+        final TodoList todoList = new TodoList(asList(
+                new Todo("T1", "Pay the bills", true, NOW, NOW.plusHours(2)),
+                new Todo("T2", "Write a report", false, NOW.plusDays(1)),
+                new Todo("T3", null, false, NOW.plusDays(2)),
+                new Todo("T4", "", true, null, NOW.plusDays(3))
+        ));
+
+        final TodoStore store = TodoStore.from(todoList);
+        assertEquals(4, store.size());
+        assertFalse(store.isEmpty());
+
+        assertEquals("T1", store.getId(0));
+        assertEquals("Pay the bills", store.getName(0));
+        assertNull(store.getName(2));
+        assertEquals("", store.getName(3));
+        assertNull(store.getCreatedAt(3));
+        assertEquals(NOW.toEpochSecond(ZoneOffset.UTC), store.getCreatedAtEpochSecond(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.getId(4));
+
+        assertEquals(ids(todoList.getAllTodos()), ids(store.toTodoList().getAllTodos()));
+        int index = 0;
+        for (Todo todo : todoList.getAllTodos()) {
+            final Todo copy = store.get(index++);
+            assertEquals(todo, copy);
+            assertEquals(todo.getCompletedAt(), copy.getCompletedAt());
+        }
+
+        final List<Todo> mixedIds = asList(
+                new Todo("a-very-long-id", "Unpacked id", false, NOW),
+                new Todo("T1", "Packed id", false, NOW)
+        );
+        final TodoStore mixedStore = TodoStore.from(mixedIds);
+        assertEquals("a-very-long-id", mixedStore.getId(0));
+        assertEquals("T1", mixedStore.getId(1));
+
+        assertTrue(TodoStore.from(new TodoList()).isEmpty());
+    }
+
+    @DisplayName("Filter, count and aggregate todos")
+    @Test
+    void scans() {
+        final List<Todo> todos = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final boolean completed = i % 4 == 0;
+            todos.add(new Todo(String.format("%08x", i), "Todo " + i, completed,
+                    NOW.plusMinutes(i), completed ? NOW.plusMinutes(2 * i) : null));
+        }
+
+        final TodoStore store = TodoStore.from(todos);
+        assertEquals(250, store.countCompleted());
+        assertEquals(750, store.countActive());
+
+        final BitSet completed = store.completedTodos();
+        final BitSet active = store.activeTodos();
+        assertEquals(250, completed.cardinality());
+        assertEquals(750, active.cardinality());
+        assertFalse(completed.intersects(active));
+        assertTrue(completed.get(0) && completed.get(4) && active.get(1));
+
+        active.clear();
+        assertEquals(750, store.countActive(), "Should return copies");
+
+        final long start = NOW.toEpochSecond(ZoneOffset.UTC);
+        assertEquals(119, store.countCreatedBetween(start + 60, start + 120 * 60));
+        assertEquals(119, store.createdBetween(start + 60, start + 120 * 60).cardinality());
+        assertEquals(0, store.countCreatedBetween(start, start));
+
+        final LongSummaryStatistics latency = store.completionLatency();
+        assertEquals(250, latency.getCount());
+        assertEquals(0, latency.getMin());
+        assertEquals(996 * 60, latency.getMax());
+    }
+
+    private static List<String> ids(Iterable<? extends Todo> todos) {
+        final List<String> ids = new ArrayList<>();
+        todos.forEach(todo -> ids.add(todo.getId()));
+        return ids;
+    }
+
+}
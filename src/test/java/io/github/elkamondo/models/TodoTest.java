@@ -1,8 +1,12 @@
 package io.github.elkamondo.models;
 
+import io.github.elkamondo.utils.DateTimeCodec;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
@@ -56,6 +60,69 @@ class TodoTest {
         assertEquals(todo2.hashCode(), todo1.hashCode());
         assertFalse(todo1.equals(null));
         assertFalse(todo1.equals(new Object()));
+
+        final int hashCode = todo1.hashCode();
+        todo1.setName("Start the Hadoop cluster");
+        todo1.setComplete(true);
+        assertEquals(todo1, todo2, "Should be identified by the id only");
+        assertEquals(hashCode, todo1.hashCode());
+        assertNotEquals(todo1, new Todo("Shut down Hadoop cluster"));
+    }
+
+    @DisplayName("Keep ids and timestamps in primitive fields")
+    @Test
+    void compactTodo() {
+        final LocalDateTime createdAt = LocalDateTime.of(2020, 5, 17, 10, 30, 15, 123_456_789);
+        final Todo packed = new Todo("a1b2c3d4", "Packed id", false, createdAt);
+        final Todo unpacked = new Todo("a-very-long-id", "Unpacked id", false, createdAt);
+
+        assertEquals("a1b2c3d4", packed.getId());
+        assertEquals("a-very-long-id", unpacked.getId());
+        assertEquals("\u00e9t\u00e9", new Todo("\u00e9t\u00e9", "Non-ASCII id", false, createdAt).getId());
+
+        assertEquals(createdAt.withNano(0), packed.getCreatedAt(), "Should keep the timestamp to the second");
+        assertEquals(createdAt.toEpochSecond(ZoneOffset.UTC), packed.getCreatedAtEpochSecond());
+        assertNull(packed.getCompletedAt());
+        assertEquals(DateTimeCodec.NO_TIMESTAMP, packed.getCompletedAtEpochSecond());
+
+        packed.setComplete(true);
+        packed.setCompletedAt(createdAt.plusDays(1));
+        assertTrue(packed.isCompleted());
+        assertEquals(createdAt.plusDays(1).withNano(0), packed.getCompletedAt());
+
+        packed.setComplete(false);
+        assertFalse(packed.isCompleted());
+
+        assertEquals(new Todo("a1b2c3d4", "Packed id", false, createdAt), packed);
+        assertEquals(new Todo("a1b2c3d4", "Packed id", false, createdAt).hashCode(), packed.hashCode());
+    }
+
+    @DisplayName("Order packed and unpacked ids like strings")
+    @Test
+    void compareIds() {
+        final List<String> ids = asList("b", "a", "ab", "abcdefgh", "abcdefghi", "Z", "", "~", "\u00e9");
+        final List<Todo> todos = new ArrayList<>();
+        for (String id : ids) {
+            todos.add(new Todo(id, "Todo " + id, false, LocalDateTime.now()));
+        }
+
+        final List<String> expected = new ArrayList<>(ids);
+        expected.sort(null);
+
+        todos.sort(null);
+        final List<String> actual = new ArrayList<>();
+        todos.forEach(todo -> actual.add(todo.getId()));
+
+        assertEquals(expected, actual);
+    }
+
+    @DisplayName("Reject a todo without an id")
+    @Test
+    void nullId() {
+        assertThrows(IllegalArgumentException.class, () -> new Todo(null, "No id", false, LocalDateTime.now()));
+
+        final Todo emptyId = new Todo("", "Empty id", false, LocalDateTime.now());
+        assertEquals("", emptyId.getId());
     }
 
 }
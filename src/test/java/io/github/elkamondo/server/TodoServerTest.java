@@ -0,0 +1,153 @@
+package io.github.elkamondo.server;
+
+import io.github.elkamondo.benchmarks.TodoServerLoadGenerator;
+import io.github.elkamondo.models.Todo;
+import io.github.elkamondo.models.TodoList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoServerTest {
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private final AtomicInteger writes = new AtomicInteger();
+
+    private TodoList todos;
+    private TodoServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        final LocalDateTime createdAt = LocalDateTime.of(2020, 5, 1, 9, 30);
+
+        todos = new TodoList();
+        todos.add(new Todo("T1", "Pay the bills", false, createdAt));
+        todos.add(new Todo("T2", "Say \"hello\"", false, createdAt));
+        todos.add(new Todo("T3", "Write a report", true, createdAt, createdAt.plusHours(1)));
+
+        server = TodoServer.start(new InetSocketAddress("localhost", 0), todos, 16, writes::incrementAndGet);
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+    }
+
+    @DisplayName("Read todos")
+    @Test
+    void readTodos() throws Exception {
+        HttpResponse<String> response = send("GET", "/todos/T2", null);
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"id\":\"T2\",\"name\":\"Say \\\"hello\\\"\",\"completed\":false,"
+                + "\"createdAt\":\"2020-05-01T09:30:00\",\"completedAt\":null}", response.body());
+        assertTrue(response.headers().firstValue("Content-Type").get().startsWith("application/json"));
+
+        response = send("GET", "/todos/T9", null);
+        assertEquals(404, response.statusCode());
+        assertEquals("{\"error\":\"There is no todo associated with the id 'T9'.\"}", response.body());
+
+        assertEquals(404, send("GET", "/todosT1", null).statusCode());
+        assertEquals(404, send("GET", "/todos/T1/archive", null).statusCode());
+        assertEquals(0, writes.get());
+    }
+
+    @DisplayName("List todos one page at a time")
+    @Test
+    void listTodos() throws Exception {
+        HttpResponse<String> response = send("GET", "/todos?limit=2", null);
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().startsWith("{\"todos\":[{\"id\":\"T1\""));
+        assertTrue(response.body().endsWith(",\"next\":\"T2\"}"));
+
+        response = send("GET", "/todos?limit=2&after=T2", null);
+        assertTrue(response.body().startsWith("{\"todos\":[{\"id\":\"T3\""));
+        assertTrue(response.body().endsWith("}],\"next\":null}"));
+
+        response = send("GET", "/todos?view=completed", null);
+        assertTrue(response.body().contains("\"completedAt\":\"2020-05-01T10:30:00\""));
+        assertFalse(response.body().contains("\"T1\""));
+
+        assertEquals(400, send("GET", "/todos?view=archived", null).statusCode());
+        assertEquals(400, send("GET", "/todos?limit=0", null).statusCode());
+    }
+
+    @DisplayName("Change todos")
+    @Test
+    void changeTodos() throws Exception {
+        HttpResponse<String> response = send("POST", "/todos", "{\"name\": \"Book a flight\\nto Rabat\"}");
+        assertEquals(201, response.statusCode());
+        final String location = response.headers().firstValue("Location").get();
+        final String todoId = location.substring("/todos/".length());
+        assertEquals("Book a flight\nto Rabat", todos.getTodo(todoId).get().getName());
+
+        assertEquals(200, send("POST", "/todos/T1/complete", null).statusCode());
+        assertTrue(todos.getTodo("T1").get().isCompleted());
+
+        response = send("POST", "/todos/T3/uncomplete", null);
+        assertTrue(response.body().contains("\"completed\":false"));
+
+        assertEquals(200, send("PUT", "/todos/T2", "{\"name\": \"Say goodbye\"}").statusCode());
+        assertEquals("Say goodbye", todos.getTodo("T2").get().getName());
+
+        assertEquals(204, send("DELETE", "/todos/T3", null).statusCode());
+        assertFalse(todos.getTodo("T3").isPresent());
+        assertEquals(404, send("DELETE", "/todos/T3", null).statusCode());
+
+        assertEquals(400, send("POST", "/todos", "{\"title\": \"No name\"}").statusCode());
+        assertEquals(400, send("PUT", "/todos/T2", "not json").statusCode());
+        assertEquals(400, send("POST", "/todos", "{\"name\": \"" + "x".repeat(70_000) + "\"}").statusCode());
+
+        response = send("PATCH", "/todos/T1", "{}");
+        assertEquals(405, response.statusCode());
+        assertEquals("GET, PUT, DELETE", response.headers().firstValue("Allow").get());
+        assertEquals(405, send("GET", "/todos/T1/complete", null).statusCode());
+
+        assertEquals(3, todos.getAllTodos().size());
+        assertEquals(6, writes.get(), "Should run the hook after each write, even when nothing changed");
+    }
+
+    @DisplayName("Serve pipelined requests on keep-alive connections")
+    @Test
+    void generateLoad() throws Exception {
+        final List<String> todoIds = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            todoIds.add(todos.create("Todo " + i).getId());
+        }
+
+        final TodoServerLoadGenerator generator = new TodoServerLoadGenerator(server.getAddress(), todoIds);
+        final TodoServerLoadGenerator.Report report = generator.run(4, 8, 500);
+
+        assertEquals(2_000, report.getRequests());
+        assertEquals(0, report.getErrors());
+        assertTrue(report.getP50Nanos() > 0);
+        assertTrue(report.getP50Nanos() <= report.getP99Nanos());
+        assertTrue(report.requestsPerSecond() > 0);
+        assertTrue(report.toString().startsWith("2000 requests (0 errors) in "));
+
+        // About one request in ten completes a todo
+        assertTrue(writes.get() > 0 && writes.get() < 2_000);
+        assertTrue(todos.getCompletedTodos().size() > 1);
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        final HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getAddress().getPort() + path))
+                .method(method, body != null ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody())
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+}
@@ -0,0 +1,63 @@
+package io.github.elkamondo.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class AtomicFilesTest {
+
+    private final Path FILE = Paths.get("test-atomic-files.txt");
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(FILE);
+    }
+
+    @DisplayName("Replace a file as a whole")
+    @Test
+    void replace() throws IOException {
+        AtomicFiles.writeStream(FILE, out -> out.write("first".getBytes(UTF_8)));
+        assertEquals("first", Files.readString(FILE));
+
+        assertThrows(IOException.class, () -> AtomicFiles.writeStream(FILE, out -> {
+            out.write("second".getBytes(UTF_8));
+            throw new IOException("Disk full");
+        }));
+        assertEquals("first", Files.readString(FILE), "Should keep the previous content");
+
+        try (Stream<Path> files = Files.list(FILE.toAbsolutePath().getParent())) {
+            assertTrue(files.noneMatch(file -> file.getFileName().toString().endsWith(".tmp")),
+                    "Should delete the temporary file");
+        }
+    }
+
+    @DisplayName("Keep the permissions of the replaced file")
+    @Test
+    void keepPermissions() throws IOException {
+        assumeTrue(Files.getFileAttributeView(FILE.toAbsolutePath().getParent(), PosixFileAttributeView.class) != null);
+
+        AtomicFiles.writeStream(FILE, out -> out.write("first".getBytes(UTF_8)));
+
+        final Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-rw-r--");
+        Files.setPosixFilePermissions(FILE, permissions);
+
+        AtomicFiles.writeStream(FILE, out -> out.write("second".getBytes(UTF_8)));
+        assertEquals("second", Files.readString(FILE));
+        assertEquals(permissions, Files.getPosixFilePermissions(FILE));
+    }
+
+}
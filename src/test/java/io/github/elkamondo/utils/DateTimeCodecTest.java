@@ -0,0 +1,122 @@
+package io.github.elkamondo.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+
+import static io.github.elkamondo.utils.Constants.DEFAULT_DATETIME_FORMATTER;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DateTimeCodecTest {
+
+    private static final long MIN_EPOCH_DAY = LocalDateTime.of(1, 1, 1, 0, 0).toLocalDate().toEpochDay();
+    private static final long MAX_EPOCH_DAY = LocalDateTime.of(9999, 12, 31, 0, 0).toLocalDate().toEpochDay();
+
+    @DisplayName("Format timestamps like the default formatter")
+    @Test
+    void format() throws IOException {
+        final Random random = new Random(42);
+        final StringBuilder builder = new StringBuilder();
+
+        for (int i = 0; i < 100_000; i++) {
+            final LocalDateTime dateTime = randomDateTime(random);
+            final String expected = dateTime.format(DEFAULT_DATETIME_FORMATTER);
+
+            assertEquals(expected, DateTimeCodec.format(dateTime));
+
+            builder.setLength(0);
+            DateTimeCodec.appendTo(dateTime, builder);
+            assertEquals(expected, builder.toString());
+        }
+
+        final StringWriter writer = new StringWriter();
+        DateTimeCodec.appendTo(LocalDateTime.of(2020, 2, 29, 23, 59, 59, 999), writer);
+        assertEquals("29/02/2020 23:59:59", writer.toString(), "Should drop the nanoseconds");
+
+        assertNull(DateTimeCodec.format(null));
+    }
+
+    @DisplayName("Format years the fixed layout can't hold")
+    @Test
+    void formatOutOfRangeYears() {
+        final LocalDateTime[] dateTimes = {
+                LocalDateTime.of(10000, 1, 1, 0, 0),
+                LocalDateTime.of(0, 6, 15, 12, 30),
+        };
+
+        for (LocalDateTime dateTime : dateTimes) {
+            assertEquals(dateTime.format(DEFAULT_DATETIME_FORMATTER), DateTimeCodec.format(dateTime));
+        }
+    }
+
+    @DisplayName("Parse timestamps like the default formatter")
+    @Test
+    void parse() {
+        final Random random = new Random(7);
+
+        for (int i = 0; i < 100_000; i++) {
+            final String text = randomDateTime(random).format(DEFAULT_DATETIME_FORMATTER);
+            final LocalDateTime expected = LocalDateTime.parse(text, DEFAULT_DATETIME_FORMATTER);
+            final LocalDateTime actual = DateTimeCodec.parse(text);
+
+            assertAll("Every field should match for " + text,
+                    () -> assertEquals(expected.getYear(), actual.getYear()),
+                    () -> assertEquals(expected.getMonthValue(), actual.getMonthValue()),
+                    () -> assertEquals(expected.getDayOfMonth(), actual.getDayOfMonth()),
+                    () -> assertEquals(expected.getHour(), actual.getHour()),
+                    () -> assertEquals(expected.getMinute(), actual.getMinute()),
+                    () -> assertEquals(expected.getSecond(), actual.getSecond()),
+                    () -> assertEquals(expected.getNano(), actual.getNano())
+            );
+        }
+    }
+
+    @DisplayName("Parse a slice of a larger text")
+    @Test
+    void parseSlice() {
+        final String line = "T1,Buy milk,17/10/2026 08:05:09,true";
+
+        assertEquals(LocalDateTime.of(2026, 10, 17, 8, 5, 9), DateTimeCodec.parse(line, 12, 31));
+    }
+
+    @DisplayName("Resolve and reject timestamps like the default formatter")
+    @Test
+    void parseEdgeCases() {
+        // The formatter resolves an out of range day of month to the last valid one,
+        // and midnight at the end of the day to the start of the next day
+        final String[] resolvedTexts = {"31/02/2021 10:00:00", "17/10/2026 24:00:00"};
+        for (String text : resolvedTexts) {
+            assertEquals(LocalDateTime.parse(text, DEFAULT_DATETIME_FORMATTER), DateTimeCodec.parse(text));
+        }
+
+        final String[] invalidTexts = {
+                "", "17/10/2026", "17-10-2026 08:05:09", "1a/10/2026 08:05:09",
+                "32/01/2026 08:05:09", "17/13/2026 08:05:09", "17/10/2026 25:00:00",
+                "17/10/0000 08:05:09", " 17/10/2026 08:05:09",
+        };
+
+        for (String text : invalidTexts) {
+            assertThrows(DateTimeParseException.class,
+                    () -> LocalDateTime.parse(text, DEFAULT_DATETIME_FORMATTER),
+                    "The formatter should reject '" + text + "'");
+            assertThrows(DateTimeParseException.class,
+                    () -> DateTimeCodec.parse(text),
+                    "Should reject '" + text + "'");
+        }
+    }
+
+    private static LocalDateTime randomDateTime(Random random) {
+        final long epochDay = MIN_EPOCH_DAY + (long) (random.nextDouble() * (MAX_EPOCH_DAY - MIN_EPOCH_DAY + 1));
+        final int secondOfDay = random.nextInt(24 * 60 * 60);
+        return LocalDateTime.of(1, 1, 1, 0, 0)
+                            .plusDays(epochDay - MIN_EPOCH_DAY)
+                            .plusSeconds(secondOfDay)
+                            .plusNanos(random.nextInt(1_000_000_000));
+    }
+
+}
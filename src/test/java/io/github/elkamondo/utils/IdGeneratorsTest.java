@@ -0,0 +1,100 @@
+package io.github.elkamondo.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdGeneratorsTest {
+
+    @DisplayName("Generate random hex ids")
+    @Test
+    void random() {
+        final IdGenerator generator = IdGenerators.random(8);
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(generator.nextId().matches("[0-9a-f]{8}"));
+        }
+
+        assertTrue(IdGenerators.randomHex(40).matches("[0-9a-f]{40}"), "Should draw more bits past 16 digits");
+        assertThrows(IllegalArgumentException.class, () -> IdGenerators.random(0));
+        assertThrows(IllegalArgumentException.class, () -> IdGenerators.random(17), "Should accept the lengths of a sequence");
+    }
+
+    @DisplayName("Generate a sequence of ids")
+    @Test
+    void sequence() {
+        final IdGenerator generator = IdGenerators.sequence(0xfe, 2);
+
+        assertEquals("fe", generator.nextId());
+        assertEquals("ff", generator.nextId());
+        assertThrows(IllegalStateException.class, generator::nextId, "Should not wrap around");
+
+        assertEquals("000000000000002a", IdGenerators.sequence(42, 16).nextId());
+        assertThrows(IllegalArgumentException.class, () -> IdGenerators.sequence(-1, 8));
+        assertThrows(IllegalArgumentException.class, () -> IdGenerators.sequence(0, 17));
+    }
+
+    @DisplayName("Generate ids in creation order")
+    @Test
+    void timeOrdered() {
+        final MutableClock clock = new MutableClock(Instant.parse("2020-01-01T00:00:00Z"));
+        final IdGenerator generator = IdGenerators.timeOrdered(clock);
+
+        assertEquals("00000000", generator.nextId());
+        assertEquals("00000001", generator.nextId());
+
+        final List<String> ids = new ArrayList<>();
+        clock.instant = Instant.parse("2026-10-17T12:00:00Z");
+        for (int i = 0; i < 1000; i++) {
+            ids.add(generator.nextId());
+        }
+
+        clock.instant = Instant.parse("2026-10-17T11:00:00Z");
+        ids.add(generator.nextId());
+
+        final List<String> sorted = new ArrayList<>(ids);
+        sorted.sort(null);
+        assertEquals(sorted, ids, "Should keep increasing, even if the clock goes backwards");
+        assertEquals(ids.size(), ids.stream().distinct().count());
+        assertTrue(ids.stream().allMatch(id -> id.matches("[0-9A-Za-z]{8}")));
+
+        clock.instant = Instant.parse("2019-12-31T23:59:59Z");
+        assertTrue(generator.nextId().compareTo(ids.get(ids.size() - 1)) > 0, "Should not go before the last id");
+
+        clock.instant = Instant.parse("2200-01-01T00:00:00Z");
+        assertThrows(IllegalStateException.class, generator::nextId);
+    }
+
+    private static class MutableClock extends Clock {
+
+        Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+    }
+
+}
@@ -0,0 +1,44 @@
+package io.github.elkamondo.utils;
+
+import io.github.elkamondo.models.Todo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoTableWriterTest {
+
+    private static final String BORDER = "+----------+--------------------------------+-----------+---------------------+---------------------+";
+    private static final String ROW_FORMAT = "| %-8s | %-30s | %-9s | %-19s | %-19s |%n";
+
+    @DisplayName("Render todos like the formatted table")
+    @Test
+    void writeTable() {
+        final LocalDateTime createdAt = LocalDateTime.of(2020, 5, 17, 10, 30, 15);
+        final StringWriter output = new StringWriter();
+        final TodoTableWriter table = new TodoTableWriter(new PrintWriter(output));
+
+        table.writeTable(asList(
+                new Todo("T1", "Pay the bills", true, createdAt, createdAt.plusDays(1)),
+                new Todo("a-long-id", "A name that is far too long to fit in its column", false, createdAt),
+                new Todo("T3", null, false, null)
+        ));
+        table.flush();
+
+        final String expected = String.format("%s%n", BORDER)
+                + String.format(ROW_FORMAT, "id", "name", "completed", "createdAt", "completedAt")
+                + String.format("%s%n", BORDER)
+                + String.format(ROW_FORMAT, "T1", "Pay the bills", "✅", "17/05/2020 10:30:15", "18/05/2020 10:30:15")
+                + String.format(ROW_FORMAT, "a-long-id", "A name that is far too long...", "❌", "17/05/2020 10:30:15", null)
+                + String.format(ROW_FORMAT, "T3", null, "❌", null, null)
+                + String.format("%s%n", BORDER);
+
+        assertEquals(expected, output.toString());
+    }
+
+}
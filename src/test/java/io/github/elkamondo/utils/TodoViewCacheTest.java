@@ -0,0 +1,87 @@
+package io.github.elkamondo.utils;
+
+import io.github.elkamondo.models.Todo;
+import io.github.elkamondo.models.TodoList;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoViewCacheTest {
+
+    @DisplayName("Reuse results and tables until the list changes")
+    @Test
+    void cacheResults() {
+        final TodoList todos = todos(30);
+        final TodoViewCache cache = new TodoViewCache(todos, 1_000);
+
+        final TodoViewCache.Result page = cache.getPageAfter(TodoList.View.ALL, null, 10);
+        assertEquals(10, page.getTodos().size());
+        assertSame(page, cache.getPageAfter(TodoList.View.ALL, null, 10));
+        assertSame(page.getTable(), cache.getPageAfter(TodoList.View.ALL, null, 10).getTable());
+        assertEquals(table(page), page.getTable());
+
+        final Todo last = page.getTodos().get(9);
+        assertEquals("T010", cache.getPageAfter(TodoList.View.ALL, last, 10).getTodos().get(0).getId());
+        assertEquals("T008", cache.getPageBefore(TodoList.View.ALL, last, 1).getTodos().get(0).getId());
+        assertEquals(15, cache.getPageAfter(TodoList.View.ACTIVE, null, 20).getTodos().size());
+        assertEquals(todos.search("todo 2"), cache.search("todo 2").getTodos());
+
+        assertEquals(2, cache.getHits());
+        assertEquals(5, cache.getMisses());
+        assertEquals(5, cache.size());
+
+        todos.completeTodo("T001");
+        final TodoViewCache.Result changed = cache.getPageAfter(TodoList.View.ALL, null, 10);
+        assertNotSame(page, changed);
+        assertTrue(changed.getTable().contains("✅"));
+        assertEquals(1, cache.getInvalidations());
+        assertEquals(1, cache.size());
+
+        assertThrows(UnsupportedOperationException.class, () -> changed.getTodos().clear());
+    }
+
+    @DisplayName("Evict the least recently used results")
+    @Test
+    void evictResults() {
+        final TodoList todos = todos(100);
+        final TodoViewCache cache = new TodoViewCache(todos, 25);
+
+        final TodoViewCache.Result first = cache.getPageAfter(TodoList.View.ALL, null, 10);
+        final TodoViewCache.Result second = cache.getPageAfter(TodoList.View.ACTIVE, null, 10);
+        assertSame(first, cache.getPageAfter(TodoList.View.ALL, null, 10));
+
+        // Goes over the limit, the active page being the least recently used
+        cache.getPageAfter(TodoList.View.COMPLETED, null, 10);
+        assertEquals(1, cache.getEvictions());
+        assertSame(first, cache.getPageAfter(TodoList.View.ALL, null, 10));
+        assertNotSame(second, cache.getPageAfter(TodoList.View.ACTIVE, null, 10));
+
+        // Too large to be cached at all
+        final TodoViewCache.Result all = cache.getPageAfter(TodoList.View.ALL, null, 100);
+        assertNotSame(all, cache.getPageAfter(TodoList.View.ALL, null, 100));
+
+        assertTrue(cache.toString().contains("hit rate"));
+    }
+
+    private static TodoList todos(int count) {
+        final TodoList todos = new TodoList();
+        for (int i = 0; i < count; i++) {
+            todos.add(new Todo(String.format("T%03d", i), "Todo " + i, i % 2 == 0, LocalDateTime.now()));
+        }
+        return todos;
+    }
+
+    private static String table(TodoViewCache.Result result) {
+        final StringWriter output = new StringWriter();
+        final TodoTableWriter table = new TodoTableWriter(new PrintWriter(output));
+        table.writeTable(result.getTodos());
+        table.flush();
+        return output.toString();
+    }
+
+}
@@ -0,0 +1,167 @@
+package io.github.elkamondo.utils.journal;
+
+import io.github.elkamondo.exceptions.FileNameNotValidException;
+import io.github.elkamondo.models.Todo;
+import io.github.elkamondo.models.TodoList;
+import io.github.elkamondo.utils.reports.TodoCSVReporter;
+import io.github.elkamondo.utils.reports.TodoReporter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoJournalTest {
+
+    private final String SNAPSHOT_FILENAME = "test-journal-todos.csv";
+    private final Path JOURNAL_PATH = Paths.get(SNAPSHOT_FILENAME + ".journal");
+
+    private final LocalDateTime createdAt = LocalDateTime.of(2022, 1, 10, 18, 45, 0);
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(Paths.get(SNAPSHOT_FILENAME));
+        Files.deleteIfExists(JOURNAL_PATH);
+        Files.deleteIfExists(Paths.get(JOURNAL_PATH + ".1"));
+    }
+
+    @DisplayName("Replay the recorded changes")
+    @Test
+    void replay() throws IOException {
+        final TodoList todoList = new TodoList();
+        try (TodoJournal journal = TodoJournal.open(JOURNAL_PATH, todoList, 2)) {
+            assertEquals(0, journal.replayedRecords());
+
+            todoList.add(new Todo("T1", "Repair the bike", false, createdAt));
+            todoList.add(new Todo("T2", "Learn Kotlin", false, createdAt));
+            todoList.add(new Todo("T3", "Sell the car", false, createdAt));
+            todoList.completeTodo("T1", createdAt.plusDays(1));
+            todoList.renameTodo("T2", "Learn Kotlin coroutines");
+            todoList.completeTodo("T3");
+            todoList.unCompleteTodo("T3");
+            todoList.removeTodo("T3");
+        }
+
+        final TodoList replayed = new TodoList();
+        try (TodoJournal journal = TodoJournal.open(JOURNAL_PATH, replayed, 2)) {
+            assertEquals(8, journal.replayedRecords());
+        }
+
+        assertEquals(2, replayed.getAllTodos().size());
+
+        final Todo todo1 = replayed.getTodo("T1").orElseThrow(AssertionError::new);
+        assertTrue(todo1.isCompleted());
+        assertEquals(createdAt.plusDays(1), todo1.getCompletedAt());
+
+        final Todo todo2 = replayed.getTodo("T2").orElseThrow(AssertionError::new);
+        assertEquals("Learn Kotlin coroutines", todo2.getName());
+        assertFalse(todo2.isCompleted());
+        assertEquals(createdAt, todo2.getCreatedAt());
+
+        assertFalse(replayed.getTodo("T3").isPresent());
+    }
+
+    @DisplayName("Drop a record cut short by a crash")
+    @Test
+    void tornRecord() throws IOException {
+        final TodoList todoList = new TodoList();
+        try (TodoJournal journal = TodoJournal.open(JOURNAL_PATH, todoList, 1)) {
+            assertEquals(0, journal.replayedRecords());
+            todoList.add(new Todo("T1", "Walk the dog", false, createdAt));
+            todoList.add(new Todo("T2", "Feed the cat", false, createdAt));
+        }
+
+        try (FileChannel channel = FileChannel.open(JOURNAL_PATH, WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        final TodoList replayed = new TodoList();
+        try (TodoJournal journal = TodoJournal.open(JOURNAL_PATH, replayed, 1)) {
+            assertEquals(1, journal.replayedRecords());
+            replayed.add(new Todo("T3", "Clean the house", false, createdAt));
+        }
+
+        final TodoList reopened = new TodoList();
+        try (TodoJournal journal = TodoJournal.open(JOURNAL_PATH, reopened, 1)) {
+            assertEquals(2, journal.replayedRecords(), "New records should follow the valid ones");
+        }
+
+        assertTrue(reopened.getTodo("T1").isPresent());
+        assertFalse(reopened.getTodo("T2").isPresent());
+        assertTrue(reopened.getTodo("T3").isPresent());
+    }
+
+    @DisplayName("Compact the journal into a snapshot")
+    @Test
+    void compact() throws IOException, FileNameNotValidException, InterruptedException, ExecutionException, TimeoutException {
+        final TodoReporter reporter = new TodoCSVReporter();
+        final TodoList todoList = new TodoList();
+
+        try (TodoJournal journal = TodoJournal.open(JOURNAL_PATH, todoList, 16)) {
+            todoList.add(new Todo("T1", "Go jogging", false, createdAt));
+            todoList.add(new Todo("T2", "Buy bread", false, createdAt));
+
+            journal.compact(reporter, SNAPSHOT_FILENAME).get(10, TimeUnit.SECONDS);
+            assertFalse(Files.exists(Paths.get(JOURNAL_PATH + ".1")), "Should delete the compacted records");
+
+            todoList.completeTodo("T2");
+        }
+
+        assertEquals(2, reporter.load(SNAPSHOT_FILENAME).size());
+
+        final TodoList restored = new TodoList();
+        reporter.load(SNAPSHOT_FILENAME, restored::add);
+        try (TodoJournal journal = TodoJournal.open(JOURNAL_PATH, restored, 16)) {
+            assertEquals(1, journal.replayedRecords(), "Only the changes made after the compaction");
+        }
+
+        assertTrue(restored.getTodo("T2").map(Todo::isCompleted).orElse(false));
+    }
+
+    @DisplayName("Keep the changes a failing journal couldn't record")
+    @Test
+    void failure() throws IOException, FileNameNotValidException, InterruptedException, ExecutionException, TimeoutException {
+        final TodoReporter reporter = new TodoCSVReporter();
+        final TodoList todoList = new TodoList();
+
+        try (TodoJournal journal = TodoJournal.open(JOURNAL_PATH, todoList, 1)) {
+            todoList.add(new Todo("T1", "Water the plants", false, createdAt));
+
+            // As if the disk had failed
+            journal.channel().close();
+            todoList.add(new Todo("T2", "Book the flights", false, createdAt));
+            todoList.completeTodo("T1");
+
+            assertTrue(journal.hasFailed());
+            assertTrue(todoList.getTodo("T2").isPresent(), "Should still apply the change");
+            assertTrue(todoList.getTodo("T1").orElseThrow(AssertionError::new).isCompleted());
+            assertThrows(IOException.class, journal::sync);
+
+            journal.compact(reporter, SNAPSHOT_FILENAME).get(5, TimeUnit.SECONDS);
+            assertFalse(journal.hasFailed());
+
+            todoList.removeTodo("T1");
+        }
+
+        final TodoList reloaded = new TodoList();
+        reloaded.addAll(reporter.load(SNAPSHOT_FILENAME));
+        try (TodoJournal journal = TodoJournal.open(JOURNAL_PATH, reloaded, 1)) {
+            assertEquals(1, journal.replayedRecords());
+        }
+
+        assertFalse(reloaded.getTodo("T1").isPresent());
+        assertTrue(reloaded.getTodo("T2").isPresent());
+    }
+
+}
@@ -0,0 +1,61 @@
+package io.github.elkamondo.utils.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @DisplayName("Map every latency to a bucket covering it")
+    @Test
+    void buckets() {
+        for (long value = 0; value < 100_000; value++) {
+            final int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(LatencyHistogram.lowestValueOf(bucket) <= value, "Bucket too high for " + value);
+            assertTrue(LatencyHistogram.highestValueOf(bucket) >= value, "Bucket too low for " + value);
+        }
+
+        for (int shift = 17; shift <= 40; shift++) {
+            final long value = (1L << shift) + 12345;
+            final int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(LatencyHistogram.lowestValueOf(bucket) <= value);
+            assertTrue(LatencyHistogram.highestValueOf(bucket) >= value);
+
+            // At most 1/8 off
+            final long width = LatencyHistogram.highestValueOf(bucket) - LatencyHistogram.lowestValueOf(bucket) + 1;
+            assertTrue(width * 8 <= LatencyHistogram.lowestValueOf(bucket));
+        }
+    }
+
+    @DisplayName("Estimate percentiles within a bucket")
+    @Test
+    void percentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getP99Nanos());
+
+        // 1..1000 us
+        for (int i = 1; i <= 1_000; i++) {
+            histogram.record(i * 1_000L);
+        }
+        histogram.record(-5);
+
+        assertEquals(1_001, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMaxNanos());
+        assertEquals(500_500_000, histogram.getTotalNanos());
+
+        assertWithinBucket(500_000, histogram.getP50Nanos());
+        assertWithinBucket(900_000, histogram.getP90Nanos());
+        assertWithinBucket(990_000, histogram.getP99Nanos());
+        assertEquals(1_000_000, histogram.getPercentile(100));
+        assertEquals(0, histogram.getPercentile(0));
+
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(101));
+    }
+
+    private static void assertWithinBucket(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected + expected / 8,
+                String.format("Expected %d to be within 12.5%% above %d", actual, expected));
+    }
+
+}
@@ -0,0 +1,95 @@
+package io.github.elkamondo.utils.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsTest {
+
+    @DisplayName("Print the metrics by name")
+    @Test
+    void snapshot() {
+        final Metrics metrics = new Metrics();
+        assertSame(metrics.histogram("todoList.add"), metrics.histogram("todoList.add"));
+
+        metrics.histogram("todoList.remove").record(2_000);
+        metrics.histogram("todoList.add").record(1_500);
+        metrics.counter("csv.load.rows").add(42);
+        metrics.gauge("todos.all", () -> 7);
+
+        final String[] lines = metrics.snapshot().split(System.lineSeparator());
+        assertTrue(lines[0].startsWith("Latency (us)"));
+        assertTrue(lines[1].startsWith("todoList.add"));
+        assertTrue(lines[1].contains(" 1.5 "));
+        assertTrue(lines[2].startsWith("todoList.remove"));
+        assertTrue(lines[5].matches("csv\\.load\\.rows +42"));
+        assertTrue(lines[8].matches("todos\\.all +7"));
+    }
+
+    @DisplayName("Publish the metrics over JMX")
+    @Test
+    void registerMBeans() throws Exception {
+        final MBeanServer server = MBeanServerFactory.newMBeanServer();
+        final Metrics metrics = new Metrics();
+        metrics.histogram("todoList.add").record(1_000);
+        metrics.gauge("todos.all", () -> 3);
+
+        metrics.registerMBeans(server);
+        metrics.registerMBeans(server);
+        metrics.histogram("csv.save").record(5_000);
+
+        final ObjectName add = new ObjectName(Metrics.JMX_DOMAIN + ":type=Latency,name=\"todoList.add\"");
+        assertEquals(1L, server.getAttribute(add, "Count"));
+
+        final ObjectName save = new ObjectName(Metrics.JMX_DOMAIN + ":type=Latency,name=\"csv.save\"");
+        assertEquals(5_000L, server.getAttribute(save, "MaxNanos"));
+
+        final ObjectName registry = new ObjectName(Metrics.JMX_DOMAIN + ":type=Metrics");
+        assertTrue(((String) server.getAttribute(registry, "Snapshot")).contains("todos.all"));
+    }
+
+    @DisplayName("Dump the metrics periodically")
+    @Test
+    void dump() throws Exception {
+        final Metrics metrics = new Metrics();
+        metrics.counter("batch.commands").increment();
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final CountDownLatch dumps = new CountDownLatch(2);
+        final AtomicBoolean closed = new AtomicBoolean();
+        final AtomicBoolean dumpedAfterClose = new AtomicBoolean();
+        final PrintStream out = new PrintStream(output, true) {
+            @Override
+            public void print(String snapshot) {
+                dumpedAfterClose.compareAndSet(false, closed.get());
+                super.print(snapshot);
+                dumps.countDown();
+            }
+        };
+
+        final Closeable dump = metrics.startDump(out, 10, TimeUnit.MILLISECONDS);
+        try {
+            assertTrue(dumps.await(5, TimeUnit.SECONDS), "Should dump every period");
+        } finally {
+            dump.close();
+            closed.set(true);
+        }
+        assertTrue(output.toString().contains("batch.commands"));
+
+        // Closing waits for a dump in progress, so none starts once it returned
+        assertFalse(dumpedAfterClose.get(), "Should stop dumping once closed");
+        assertThrows(IllegalArgumentException.class, () -> metrics.startDump(System.err, 0, TimeUnit.SECONDS));
+    }
+
+}
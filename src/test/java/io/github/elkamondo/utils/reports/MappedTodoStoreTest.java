@@ -0,0 +1,128 @@
+package io.github.elkamondo.utils.reports;
+
+import io.github.elkamondo.exceptions.FileNameNotValidException;
+import io.github.elkamondo.models.Todo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedTodoStoreTest {
+
+    private final String BACKUP_FILENAME = "test-mapped-todos" + TodoBinaryReporter.FILE_EXTENSION;
+    private final TodoReporter binaryReporter = new TodoBinaryReporter();
+
+    private final LocalDateTime createdAt = LocalDateTime.of(2021, 6, 1, 9, 30, 0);
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(Paths.get(BACKUP_FILENAME));
+    }
+
+    @DisplayName("Open a mapped todo store")
+    @Test
+    void open() throws IOException, FileNameNotValidException {
+        assertThrows(FileNameNotValidException.class, () -> MappedTodoStore.open(null));
+        assertThrows(NoSuchFileException.class, () -> MappedTodoStore.open("FILE_NOT_EXISTS"));
+
+        binaryReporter.save(emptyList(), BACKUP_FILENAME);
+        try (MappedTodoStore store = MappedTodoStore.open(BACKUP_FILENAME)) {
+            assertTrue(store.isEmpty());
+            assertTrue(store.verifyChecksum());
+            assertFalse(store.findById("T1").isPresent());
+        }
+
+        Files.write(Paths.get(BACKUP_FILENAME), "id,name,completed,createdAt,completedAt".getBytes());
+        assertThrows(IOException.class, () -> MappedTodoStore.open(BACKUP_FILENAME), "Should not be a todo store");
+    }
+
+    @DisplayName("Query todos over the mapped file")
+    @Test
+    void queries() throws IOException, FileNameNotValidException {
+        final List<Todo> todos = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            todos.add(new Todo(String.format("%08x", i), "Todo " + i, i % 4 == 0, createdAt, i % 4 == 0 ? createdAt : null));
+        }
+        binaryReporter.save(todos, BACKUP_FILENAME);
+
+        try (MappedTodoStore store = MappedTodoStore.open(BACKUP_FILENAME)) {
+            assertEquals(100, store.size());
+            assertEquals(100, store.getAllTodos().size());
+            assertEquals(75, store.getActiveTodos().size());
+            assertEquals(25, store.getCompletedTodos().size());
+
+            store.getActiveTodos().forEach(todo -> assertFalse(todo.isCompleted()));
+            store.getCompletedTodos().forEach(todo -> assertTrue(todo.isCompleted()));
+
+            final MappedTodoStore.MappedTodo todo = store.findById("0000002a").orElseThrow(AssertionError::new);
+            assertEquals("Todo 42", todo.getName());
+            assertEquals(createdAt, todo.getCreatedAt());
+            assertEquals(todos.get(42), todo.toTodo());
+            assertEquals(todos.get(42).toString(), todo.toTodo().toString());
+
+            assertFalse(store.findById("0000abcd").isPresent());
+            assertFalse(store.findById("not-an-8-byte-id").isPresent());
+        }
+    }
+
+    @DisplayName("Look up ids in a store that isn't sorted")
+    @Test
+    void unsortedStore() throws IOException, FileNameNotValidException {
+        binaryReporter.save(asList(
+                new Todo("b", "Second", false, createdAt),
+                new Todo("a", "First", true, createdAt, createdAt)
+        ), BACKUP_FILENAME);
+
+        final MappedTodoStore store = MappedTodoStore.open(BACKUP_FILENAME);
+        assertEquals("First", store.findById("a").map(MappedTodoStore.MappedTodo::getName).orElse(null));
+        assertEquals("Second", store.findById("b").map(MappedTodoStore.MappedTodo::getName).orElse(null));
+
+        store.close();
+        assertThrows(IllegalStateException.class, () -> store.findById("a"), "Should be closed");
+    }
+
+    @DisplayName("Reject a name running past the end of the file")
+    @Test
+    void corruptedName() throws IOException, FileNameNotValidException {
+        binaryReporter.save(asList(new Todo("a", "First", false, createdAt)), BACKUP_FILENAME);
+
+        // The length of the first name follows the header and the only record
+        try (FileChannel channel = FileChannel.open(Paths.get(BACKUP_FILENAME), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, 1_000_000), TodoBinaryFormat.HEADER_SIZE + TodoBinaryFormat.RECORD_SIZE);
+        }
+
+        try (MappedTodoStore store = MappedTodoStore.open(BACKUP_FILENAME)) {
+            final MappedTodoStore.MappedTodo todo = store.findById("a").orElseThrow(AssertionError::new);
+            final UncheckedIOException e = assertThrows(UncheckedIOException.class, todo::getName);
+            assertTrue(e.getCause().getMessage().contains("offset 56"));
+        }
+        assertThrows(IOException.class, () -> binaryReporter.load(BACKUP_FILENAME));
+
+        // An offset that overflows once added to the start of the names
+        try (FileChannel channel = FileChannel.open(Paths.get(BACKUP_FILENAME), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(8).putLong(0, Long.MAX_VALUE), TodoBinaryFormat.HEADER_SIZE + TodoBinaryFormat.NAME_OFFSET);
+        }
+
+        try (MappedTodoStore store = MappedTodoStore.open(BACKUP_FILENAME)) {
+            final MappedTodoStore.MappedTodo todo = store.findById("a").orElseThrow(AssertionError::new);
+            final UncheckedIOException e = assertThrows(UncheckedIOException.class, todo::getName);
+            assertTrue(e.getCause().getMessage().contains("offset 40"));
+        }
+    }
+
+}
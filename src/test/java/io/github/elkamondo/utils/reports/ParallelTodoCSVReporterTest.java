@@ -0,0 +1,115 @@
+package io.github.elkamondo.utils.reports;
+
+import io.github.elkamondo.exceptions.FileNameNotValidException;
+import io.github.elkamondo.models.Todo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelTodoCSVReporterTest {
+
+    private final String BACKUP_FILENAME = "test-parallel-todos.csv";
+
+    // A tiny chunk size forces a split after almost every record
+    private final TodoReporter parallelReporter = new ParallelTodoCSVReporter(ForkJoinPool.commonPool(), 16);
+    private final TodoReporter csvReporter = new TodoCSVReporter();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(Paths.get(BACKUP_FILENAME));
+    }
+
+    @DisplayName("Load todos in parallel chunks")
+    @Test
+    void load() throws IOException, FileNameNotValidException {
+        assertThrows(
+                FileNameNotValidException.class,
+                () -> parallelReporter.load(null),
+                "Should be a valid file name");
+
+        assertTrue(parallelReporter.load("FILE_NOT_EXISTS").isEmpty());
+
+        final List<Todo> todos = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            final String name = i % 3 == 0
+                    ? "Multi-line \"quoted\"\nname, number " + i
+                    : "Todo number " + i;
+            todos.add(new Todo(String.format("%08x", i), name, i % 2 == 0, LocalDateTime.now()));
+        }
+
+        // Spans many chunks, some of them starting inside of the quoted name
+        final StringBuilder longName = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            longName.append("Line ").append(i).append(", \"quoted\"\n");
+        }
+        todos.add(250, new Todo("long", longName.toString(), false, LocalDateTime.now()));
+        assertTrue(csvReporter.save(todos, BACKUP_FILENAME));
+
+        final List<Todo> sequential = new ArrayList<>(csvReporter.load(BACKUP_FILENAME));
+        final List<Todo> parallel = new ArrayList<>(parallelReporter.load(BACKUP_FILENAME));
+
+        assertEquals(501, parallel.size(), "Should contains 501 todos");
+        assertEquals(sequential, parallel, "Should read the same todos in the same order");
+        assertEquals(sequential.toString(), parallel.toString(), "Should read the same fields");
+    }
+
+    @DisplayName("Load a file that only has a header")
+    @Test
+    void loadEmptyFile() throws IOException, FileNameNotValidException {
+        assertTrue(csvReporter.save(new ArrayList<>(), BACKUP_FILENAME));
+        assertEquals(0, parallelReporter.load(BACKUP_FILENAME, todo -> fail("Should not read any todo")));
+    }
+
+    @DisplayName("Stop at the first malformed row or failing action")
+    @Test
+    void loadFailures() throws IOException, FileNameNotValidException {
+        final List<Todo> todos = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            todos.add(new Todo(String.format("%08x", i), "Todo number " + i, false, LocalDateTime.of(2020, 1, 1, 0, 0)));
+        }
+        assertTrue(csvReporter.save(todos, BACKUP_FILENAME));
+
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            final TodoReporter reporter = new ParallelTodoCSVReporter(pool, 256);
+            final AtomicInteger handedOver = new AtomicInteger();
+            assertThrows(IllegalStateException.class, () -> reporter.load(BACKUP_FILENAME, todo -> {
+                if (handedOver.incrementAndGet() == 10) {
+                    throw new IllegalStateException("Failing action");
+                }
+            }));
+            assertEquals(10, handedOver.get(), "Should not hand over any todo after a failure");
+            assertTrue(pool.awaitQuiescence(10, TimeUnit.SECONDS));
+
+            // The bad row is in the middle of the file, so in one of the middle chunks
+            final Path path = Paths.get(BACKUP_FILENAME);
+            final String content = new String(Files.readAllBytes(path), UTF_8);
+            final String row = "00000064,Todo number 100,false,01/01/2020 00:00:00";
+            assertTrue(content.contains(row));
+            Files.write(path, content.replace(row, "00000064,Todo number 100,false,31/02/2020 99:00:00").getBytes(UTF_8));
+
+            handedOver.set(0);
+            assertThrows(DateTimeParseException.class, () -> reporter.load(BACKUP_FILENAME, todo -> handedOver.incrementAndGet()));
+            assertTrue(handedOver.get() < 100, "Should not hand over the todos after the malformed row");
+            assertTrue(pool.awaitQuiescence(10, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,182 @@
+package io.github.elkamondo.utils.reports;
+
+import io.github.elkamondo.exceptions.FileNameNotValidException;
+import io.github.elkamondo.models.Todo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedTodoReporterTest {
+
+    private static final int SHARDS = 4;
+
+    private final String BACKUP_FILENAME = "test-sharded-todos.csv";
+
+    private final Set<String> savedFiles = new ConcurrentSkipListSet<>();
+    private final TodoReporter csvReporter = new TodoCSVReporter() {
+        @Override
+        public boolean save(Collection<? extends Todo> todos, String filename) throws IOException, FileNameNotValidException {
+            savedFiles.add(filename);
+            return super.save(todos, filename);
+        }
+    };
+    private final ShardedTodoReporter shardedReporter = new ShardedTodoReporter(csvReporter, SHARDS);
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(Paths.get(BACKUP_FILENAME));
+        Files.deleteIfExists(Paths.get(BACKUP_FILENAME + ShardedTodoReporter.BACKUP_EXTENSION));
+        for (int i = 0; i <= SHARDS; i++) {
+            Files.deleteIfExists(Paths.get(ShardedTodoReporter.shardFileName(BACKUP_FILENAME, i)));
+        }
+    }
+
+    @DisplayName("Name the shards after the file")
+    @Test
+    void shardFileName() {
+        assertEquals("todos.0.csv", ShardedTodoReporter.shardFileName("todos.csv", 0));
+        assertEquals("todos.3.csv.gz", ShardedTodoReporter.shardFileName("todos.csv.gz", 3));
+        assertEquals(Paths.get("data", "todos.1.tdb").toString(),
+                ShardedTodoReporter.shardFileName(Paths.get("data", "todos.tdb").toString(), 1));
+        assertEquals("todos.2", ShardedTodoReporter.shardFileName("todos", 2));
+        assertEquals(".todos.2", ShardedTodoReporter.shardFileName(".todos", 2));
+
+        assertThrows(IllegalArgumentException.class, () -> new ShardedTodoReporter(csvReporter, 0));
+    }
+
+    @DisplayName("Save and load the todos across the shards")
+    @Test
+    void saveAndLoad() throws IOException, FileNameNotValidException {
+        assertThrows(FileNameNotValidException.class, () -> shardedReporter.save(emptyList(), ""));
+        assertFalse(shardedReporter.save(null, BACKUP_FILENAME));
+        assertTrue(shardedReporter.load("FILE_NOT_EXISTS").isEmpty());
+
+        final List<Todo> todos = newTodos(200);
+        assertTrue(shardedReporter.save(todos, BACKUP_FILENAME));
+        assertEquals(SHARDS, savedFiles.size(), "Should write every shard the first time");
+        assertTrue(Files.notExists(Paths.get(BACKUP_FILENAME)));
+
+        // Each shard is a plain CSV file holding the todos of its hash
+        int count = 0;
+        for (int i = 0; i < SHARDS; i++) {
+            for (Todo todo : new TodoCSVReporter().load(ShardedTodoReporter.shardFileName(BACKUP_FILENAME, i))) {
+                assertEquals(i, ShardedTodoReporter.shardOf(todo.getId(), SHARDS));
+                count++;
+            }
+        }
+        assertEquals(200, count);
+
+        final List<Todo> loaded = new ArrayList<>(new ShardedTodoReporter(csvReporter, SHARDS).load(BACKUP_FILENAME));
+        assertEquals(new HashSet<>(todos), new HashSet<>(loaded), "Should load the union of the shards");
+        assertEquals(todos.get(42).toString(), loaded.get(loaded.indexOf(todos.get(42))).toString());
+
+        assertThrows(IOException.class, () -> new ShardedTodoReporter(csvReporter, SHARDS - 1).load(BACKUP_FILENAME),
+                "Should not ignore the extra shards");
+    }
+
+    @DisplayName("Only rewrite the shards that changed")
+    @Test
+    void saveDirtyShards() throws IOException, FileNameNotValidException {
+        final List<Todo> todos = new ArrayList<>(shardedReporter.load(BACKUP_FILENAME));
+        todos.addAll(newTodos(200));
+        shardedReporter.save(todos, BACKUP_FILENAME);
+
+        savedFiles.clear();
+        shardedReporter.save(todos, BACKUP_FILENAME);
+        assertTrue(savedFiles.isEmpty(), "Should not rewrite unchanged shards");
+
+        final Todo renamed = todos.get(10);
+        renamed.setName("Renamed todo");
+        shardedReporter.save(todos, BACKUP_FILENAME);
+        assertEquals(Set.of(shardFileNameOf(renamed)), savedFiles);
+
+        savedFiles.clear();
+        final Todo removed = todos.remove(20);
+        final Todo completed = todos.get(30);
+        completed.setComplete(true);
+        completed.setCompletedAt(LocalDateTime.now());
+        shardedReporter.save(todos, BACKUP_FILENAME);
+        assertEquals(Set.of(shardFileNameOf(removed), shardFileNameOf(completed)), savedFiles);
+
+        // A fresh reporter knows the shards once it has loaded them
+        final ShardedTodoReporter reloaded = new ShardedTodoReporter(csvReporter, SHARDS);
+        final List<Todo> loaded = new ArrayList<>(reloaded.load(BACKUP_FILENAME));
+        savedFiles.clear();
+        reloaded.save(loaded, BACKUP_FILENAME);
+        assertTrue(savedFiles.isEmpty(), "Should match the loaded shards");
+        assertEquals(new HashSet<>(todos), new HashSet<>(loaded));
+    }
+
+    @DisplayName("Split a file that isn't sharded yet")
+    @Test
+    void loadUnsharded() throws IOException, FileNameNotValidException {
+        final List<Todo> todos = newTodos(50);
+        new TodoCSVReporter().save(todos, BACKUP_FILENAME);
+
+        assertFalse(ShardedTodoReporter.isSharded(BACKUP_FILENAME));
+
+        final List<Todo> loaded = new ArrayList<>(shardedReporter.load(BACKUP_FILENAME));
+        assertEquals(todos, loaded);
+
+        shardedReporter.save(loaded, BACKUP_FILENAME);
+        assertEquals(SHARDS, savedFiles.size(), "Should write every shard");
+        assertEquals(new HashSet<>(todos), new HashSet<>(shardedReporter.load(BACKUP_FILENAME)));
+
+        // The original file can't be loaded by mistake anymore
+        assertTrue(ShardedTodoReporter.isSharded(BACKUP_FILENAME));
+        assertTrue(Files.notExists(Paths.get(BACKUP_FILENAME)));
+        assertEquals(todos, new TodoCSVReporter().load(BACKUP_FILENAME + ShardedTodoReporter.BACKUP_EXTENSION));
+    }
+
+    @DisplayName("Read a few shards ahead at a time")
+    @Test
+    void loadInOrder() throws IOException, FileNameNotValidException, InterruptedException {
+        final List<Todo> todos = newTodos(300);
+        shardedReporter.save(todos, BACKUP_FILENAME);
+
+        final ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            final List<Integer> shards = new ArrayList<>();
+            final long count = new ShardedTodoReporter(csvReporter, SHARDS, pool)
+                    .load(BACKUP_FILENAME, todo -> shards.add(ShardedTodoReporter.shardOf(todo.getId(), SHARDS)));
+
+            assertEquals(300, count);
+            final List<Integer> sorted = new ArrayList<>(shards);
+            sorted.sort(null);
+            assertEquals(sorted, shards, "Should hand the shards over in order");
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(1, TimeUnit.SECONDS);
+        }
+    }
+
+    private String shardFileNameOf(Todo todo) {
+        return ShardedTodoReporter.shardFileName(BACKUP_FILENAME, ShardedTodoReporter.shardOf(todo.getId(), SHARDS));
+    }
+
+    private static List<Todo> newTodos(int count) {
+        final List<Todo> todos = new ArrayList<>();
+        final LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0);
+        for (int i = 0; i < count; i++) {
+            todos.add(new Todo(String.format("%08x", i), "Todo number " + i, false, start.plusMinutes(i)));
+        }
+        return todos;
+    }
+
+}
@@ -0,0 +1,111 @@
+package io.github.elkamondo.utils.reports;
+
+import io.github.elkamondo.exceptions.FileNameNotValidException;
+import io.github.elkamondo.models.Todo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoBinaryReporterTest {
+
+    private final String BACKUP_FILENAME = "test-todos" + TodoBinaryReporter.FILE_EXTENSION;
+    private final TodoReporter binaryReporter = new TodoBinaryReporter();
+
+    private final LocalDateTime createdAt = LocalDateTime.of(2020, 3, 14, 15, 9, 26);
+    private final LocalDateTime completedAt = LocalDateTime.of(2020, 3, 15, 8, 0, 0);
+
+    private final List<Todo> todoList = asList(
+            new Todo("T1", "Learn Haskell", false, createdAt),
+            new Todo("b1946ac9", "Faire les courses — 🍎", true, createdAt, completedAt),
+            new Todo("f00", null, true, null, null)
+    );
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(Paths.get(BACKUP_FILENAME));
+    }
+
+    @DisplayName("Save todos to a binary file")
+    @Test
+    void save() throws IOException, FileNameNotValidException {
+        assertThrows(
+                FileNameNotValidException.class,
+                () -> binaryReporter.save(todoList, null),
+                "Should be a valid file name");
+
+        assertThrows(
+                FileNameNotValidException.class,
+                () -> binaryReporter.save(todoList, ""),
+                "Should be a valid file name");
+
+        assertFalse(binaryReporter.save(null, BACKUP_FILENAME), "Should not accept a null collection");
+        assertTrue(binaryReporter.save(emptyList(), BACKUP_FILENAME), "Should accept empty collections");
+        assertTrue(binaryReporter.save(todoList, BACKUP_FILENAME), "Should save non empty collections");
+
+        assertThrows(
+                IOException.class,
+                () -> binaryReporter.save(asList(new Todo("more-than-8", "Too long", false, createdAt)), BACKUP_FILENAME),
+                "Should reject ids that don't fit in 8 bytes");
+    }
+
+    @DisplayName("Load todos from a binary file")
+    @Test
+    void load() throws IOException, FileNameNotValidException {
+        assertThrows(
+                FileNameNotValidException.class,
+                () -> binaryReporter.load(null),
+                "Should be a valid file name");
+
+        assertEquals(emptyList(), binaryReporter.load("FILE_NOT_EXISTS"));
+
+        assertTrue(binaryReporter.save(emptyList(), BACKUP_FILENAME));
+        assertEquals(emptyList(), binaryReporter.load(BACKUP_FILENAME));
+
+        assertTrue(binaryReporter.save(todoList, BACKUP_FILENAME));
+        final List<Todo> persistedData = new ArrayList<>(binaryReporter.load(BACKUP_FILENAME));
+
+        assertEquals(3, persistedData.size(), "Should contains 3 todos");
+        for (int i = 0; i < todoList.size(); i++) {
+            final Todo expected = todoList.get(i);
+            final Todo actual = persistedData.get(i);
+            assertEquals(expected, actual);
+            assertEquals(expected.getCompletedAt(), actual.getCompletedAt());
+        }
+    }
+
+    @DisplayName("Detect a corrupted binary file")
+    @Test
+    void loadCorruptedFile() throws IOException, FileNameNotValidException {
+        assertTrue(binaryReporter.save(todoList, BACKUP_FILENAME));
+
+        final Path path = Paths.get(BACKUP_FILENAME);
+        final byte[] content = Files.readAllBytes(path);
+        content[content.length / 2] ^= 0x1;
+        Files.write(path, content);
+
+        assertThrows(IOException.class, () -> binaryReporter.load(BACKUP_FILENAME), "Should fail the checksum");
+
+        Files.write(path, "id,name,completed,createdAt,completedAt".getBytes());
+        assertThrows(IOException.class, () -> binaryReporter.load(BACKUP_FILENAME), "Should not be a todo store");
+    }
+
+    @DisplayName("Pick the reporter from the file extension")
+    @Test
+    void forFileName() {
+        assertTrue(TodoReporter.forFileName(BACKUP_FILENAME) instanceof TodoBinaryReporter);
+        assertTrue(TodoReporter.forFileName("todos.csv") instanceof TodoCSVReporter);
+    }
+
+}
@@ -9,9 +9,11 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
@@ -76,4 +78,66 @@ class TodoCSVReporterTest {
         assertEquals(3, persistedData.size(), "Should contains 3 todos");
     }
 
-}
\ No newline at end of file
+    @DisplayName("Stream todos from a CSV file")
+    @Test
+    void loadStreaming() throws IOException, FileNameNotValidException {
+        assertThrows(
+                FileNameNotValidException.class,
+                () -> csvReporter.load(null, todo -> {}),
+                "Should be a valid file name");
+
+        assertEquals(0, csvReporter.load("FILE_NOT_EXISTS", todo -> fail("Should not read any todo")));
+        assertTrue(csvReporter.save(todoList, BACKUP_FILENAME), "Should save todos");
+
+        final List<Todo> streamedData = new ArrayList<>();
+        assertEquals(3, csvReporter.load(BACKUP_FILENAME, streamedData::add), "Should read 3 todos");
+        for (int i = 0; i < todoList.size(); i++) {
+            assertEquals(todoList.get(i).getId(), streamedData.get(i).getId(), "Should keep the file order");
+        }
+
+        // The file handle must be released once loading returns
+        Files.delete(Paths.get(BACKUP_FILENAME));
+    }
+
+    @DisplayName("Save and load gzipped CSV files")
+    @Test
+    void compressed() throws IOException, FileNameNotValidException {
+        final String compressedFilename = BACKUP_FILENAME + TodoCSVReporter.COMPRESSED_FILE_EXTENSION;
+        try {
+            assertTrue(csvReporter.save(todoList, compressedFilename), "Should save todos");
+
+            final byte[] content = Files.readAllBytes(Paths.get(compressedFilename));
+            assertEquals((byte) 0x1f, content[0], "Should be gzipped");
+            assertEquals((byte) 0x8b, content[1], "Should be gzipped");
+
+            assertEquals(3, csvReporter.load(compressedFilename).size(), "Should contains 3 todos");
+        } finally {
+            Files.deleteIfExists(Paths.get(compressedFilename));
+        }
+    }
+
+    @DisplayName("Replace the previous file only once the new one is complete")
+    @Test
+    void atomicSave() throws IOException, FileNameNotValidException {
+        assertTrue(csvReporter.save(todoList, BACKUP_FILENAME), "Should save todos");
+        final byte[] previousContent = Files.readAllBytes(Paths.get(BACKUP_FILENAME));
+
+        final List<Todo> failingTodos = new ArrayList<>(todoList);
+        failingTodos.add(new Todo("Interrupted") {
+            @Override
+            public String getName() {
+                throw new IllegalStateException("Interrupted save");
+            }
+        });
+
+        assertThrows(IllegalStateException.class, () -> csvReporter.save(failingTodos, BACKUP_FILENAME));
+        assertArrayEquals(previousContent, Files.readAllBytes(Paths.get(BACKUP_FILENAME)),
+                "Should keep the previous file");
+
+        try (Stream<Path> files = Files.list(Paths.get(BACKUP_FILENAME).toAbsolutePath().getParent())) {
+            assertFalse(files.anyMatch(file -> file.getFileName().toString().endsWith(".tmp")),
+                    "Should not leave temporary files");
+        }
+    }
+
+}